@@ -3,6 +3,7 @@ from pydantic import BaseModel, EmailStr, Field
 import aiosmtplib
 from email.message import EmailMessage
 import os
+from typing import List
 from dotenv import load_dotenv
 
 load_dotenv()
@@ -27,11 +28,7 @@ class MailRequest(BaseModel):
 @app.post("/send-mail")
 async def send_mail(req: MailRequest):
     try:
-        msg = EmailMessage()
-        msg["From"] = MAIL_USER
-        msg["To"] = req.email
-        msg["Subject"] = req.baslik
-        msg.set_content(req.mesaj)
+        msg = mesaj_olustur(req)
 
         await aiosmtplib.send(
             msg,
@@ -50,6 +47,44 @@ async def send_mail(req: MailRequest):
         raise HTTPException(status_code=500, detail=str(e))
 
 
+def mesaj_olustur(req: MailRequest) -> EmailMessage:
+    msg = EmailMessage()
+    msg["From"] = MAIL_USER
+    msg["To"] = req.email
+    msg["Subject"] = req.baslik
+    msg.set_content(req.mesaj)
+    return msg
+
+
+# Tüm batch tek SMTP oturumunda gönderilir; sonuçlar istek sırasıyla döner
+@app.post("/send-mail-batch")
+async def send_mail_batch(reqs: List[MailRequest]):
+    smtp = aiosmtplib.SMTP(hostname=MAIL_HOST, port=MAIL_PORT, use_tls=False, start_tls=True)
+    try:
+        await smtp.connect()
+        await smtp.login(MAIL_USER, MAIL_PASS)
+    except Exception as e:
+        print("MAIL ERROR:", e)
+        raise HTTPException(status_code=503, detail=str(e))
+
+    sonuclar = []
+    try:
+        for req in reqs:
+            try:
+                await smtp.send_message(mesaj_olustur(req))
+                sonuclar.append({"email": req.email, "status": "ok"})
+            except Exception as e:
+                print("MAIL ERROR:", req.email, e)
+                sonuclar.append({"email": req.email, "status": "error", "detail": str(e)})
+    finally:
+        try:
+            await smtp.quit()
+        except Exception:
+            pass
+
+    return {"status": "ok", "sonuclar": sonuclar}
+
+
 @app.get("/")
 async def root():
     return {"status": "ok", "message": "Mail servisi çalışıyor!"}
@@ -13,7 +13,7 @@ import {
 import { Ionicons } from '@expo/vector-icons';
 import { useSafeAreaInsets } from 'react-native-safe-area-context';
 import { COLORS, SIZES, FONTS, SHADOWS } from '../theme';
-import api from '../services/api';
+import api, { streamPost } from '../services/api';
 
 export default function AiAsistanScreen() {
     const insets = useSafeAreaInsets();
@@ -41,7 +41,32 @@ export default function AiAsistanScreen() {
         setInputText('');
         setLoading(true);
 
+        // Yanıt SSE ile parça parça gelir; akış kurulamazsa tek seferlik uca düşülür
+        const botId = (Date.now() + 1).toString();
+        const setBotText = (text) => {
+            setMessages(prev => {
+                const exists = prev.some(m => m.id === botId);
+                if (!exists) {
+                    return [...prev, { id: botId, text, isBot: true }];
+                }
+                return prev.map(m => (m.id === botId ? { ...m, text } : m));
+            });
+        };
+
         try {
+            let streamed = null;
+            try {
+                streamed = await streamPost('/ai/assistant/stream', { message: userMessage.text }, setBotText);
+            } catch (streamError) {
+                console.log('AI akış hatası:', streamError.message);
+            }
+            if (streamed && (streamed.reply || streamed.error)) {
+                if (!streamed.reply) {
+                    setBotText(streamed.error);
+                }
+                return;
+            }
+
             const response = await api.post('/ai/assistant', {
                 message: userMessage.text,
             });
@@ -60,13 +85,7 @@ export default function AiAsistanScreen() {
                 replyText = response.data.reply || response.data.description || response.data.text || '';
             }
 
-            const botMessage = {
-                id: (Date.now() + 1).toString(),
-                text: replyText || 'Üzgünüm, şu an yanıt veremedim.',
-                isBot: true,
-            };
-
-            setMessages(prev => [...prev, botMessage]);
+            setBotText(replyText || 'Üzgünüm, şu an yanıt veremedim.');
         } catch (error) {
             console.log('AI hatası:', error.message);
             const errorMessage = {
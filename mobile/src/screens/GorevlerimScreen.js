@@ -50,7 +50,7 @@ export default function GorevlerimScreen() {
                 aciklama: g.aciklama || '',
                 sonTarih: formatTarih(g.sonTarih),
                 durum: mapDurum(g.durum),
-                kulup: g.uye?.kulup?.ad || 'Bilinmiyor'
+                kulup: g.kulupAd || 'Bilinmiyor'
             }));
             setGorevler(data);
         } catch (error) {
@@ -20,6 +20,62 @@ api.interceptors.request.use(async (config) => {
     return config;
 });
 
+// SSE ucuna POST atar ve "chunk" olaylarını geldikçe onChunk'a iletir.
+// React Native fetch akış okumayı desteklemediği için XMLHttpRequest'in artımlı responseText'i kullanılır.
+export const streamPost = (path, body, onChunk) => new Promise((resolve, reject) => {
+    const xhr = new XMLHttpRequest();
+    let seen = 0;
+    let reply = '';
+    let error = null;
+
+    const consume = () => {
+        const text = xhr.responseText || '';
+        let sep;
+        while ((sep = text.indexOf('\n\n', seen)) >= 0) {
+            const block = text.slice(seen, sep);
+            seen = sep + 2;
+            let name = 'message';
+            const dataLines = [];
+            block.split(/\r?\n/).forEach((line) => {
+                if (line.startsWith('event:')) {
+                    name = line.slice(6).trim();
+                } else if (line.startsWith('data:')) {
+                    dataLines.push(line.slice(5));
+                }
+            });
+            let data = {};
+            try {
+                data = JSON.parse(dataLines.join('\n'));
+            } catch (e) {
+                data = {};
+            }
+            if (name === 'chunk' && data.text) {
+                reply += data.text;
+                onChunk(reply);
+            } else if (name === 'error') {
+                error = data.message || 'error';
+            }
+        }
+    };
+
+    xhr.open('POST', `${api.defaults.baseURL}${path}`);
+    xhr.setRequestHeader('Content-Type', 'application/json');
+    xhr.setRequestHeader('Accept', 'text/event-stream');
+    xhr.onprogress = consume;
+    xhr.onload = () => {
+        consume();
+        if (xhr.status >= 400 && !reply) {
+            reject(new Error(`HTTP ${xhr.status}`));
+        } else {
+            resolve({ reply, error });
+        }
+    };
+    xhr.onerror = () => reject(new Error('Ağ hatası'));
+    xhr.timeout = 60000;
+    xhr.ontimeout = () => reject(new Error('Zaman aşımı'));
+    xhr.send(JSON.stringify(body));
+});
+
 export const setBaseUrl = (url) => {
     api.defaults.baseURL = url;
 };
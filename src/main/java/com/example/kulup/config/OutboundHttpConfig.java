@@ -0,0 +1,9 @@
+package com.example.kulup.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(OutboundHttpProperties.class)
+public class OutboundHttpConfig {
+}
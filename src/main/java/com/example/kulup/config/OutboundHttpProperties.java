@@ -0,0 +1,81 @@
+package com.example.kulup.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Dış servis (gemini, expo, mail) bağlantı ayarları: outbound.hedef.<ad>.*
+@ConfigurationProperties(prefix = "outbound")
+public class OutboundHttpProperties {
+
+    private Map<String, Hedef> hedef = new LinkedHashMap<>();
+
+    public Map<String, Hedef> getHedef() {
+        return hedef;
+    }
+
+    public void setHedef(Map<String, Hedef> hedef) {
+        this.hedef = hedef;
+    }
+
+    public static class Hedef {
+        private String baseUrl;
+        private Duration connectTimeout = Duration.ofSeconds(3);
+        private Duration readTimeout = Duration.ofSeconds(10);
+        // Aynı anda açık istek sınırı (bulkhead)
+        private int maxConcurrent = 16;
+        // Bulkhead doluysa yer açılması için beklenecek süre
+        private Duration bulkheadWait = Duration.ofMillis(500);
+        private String httpVersion = "HTTP_2";
+
+        public String getBaseUrl() {
+            return baseUrl;
+        }
+
+        public void setBaseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        public Duration getConnectTimeout() {
+            return connectTimeout;
+        }
+
+        public void setConnectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+        }
+
+        public Duration getReadTimeout() {
+            return readTimeout;
+        }
+
+        public void setReadTimeout(Duration readTimeout) {
+            this.readTimeout = readTimeout;
+        }
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public Duration getBulkheadWait() {
+            return bulkheadWait;
+        }
+
+        public void setBulkheadWait(Duration bulkheadWait) {
+            this.bulkheadWait = bulkheadWait;
+        }
+
+        public String getHttpVersion() {
+            return httpVersion;
+        }
+
+        public void setHttpVersion(String httpVersion) {
+            this.httpVersion = httpVersion;
+        }
+    }
+}
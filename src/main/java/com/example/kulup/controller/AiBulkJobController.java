@@ -0,0 +1,55 @@
+package com.example.kulup.controller;
+
+import com.example.kulup.model.AiBulkJob;
+import com.example.kulup.service.AiBulkJobRunner;
+import com.example.kulup.service.AiBulkJobService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+// Admin: onaylı kulüpler için toplu AI açıklaması üretme işleri (/admin/** yalnızca ADMIN rolüne açık)
+@RestController
+@RequestMapping("/admin/ai/jobs")
+public class AiBulkJobController {
+
+    private final AiBulkJobService jobService;
+    private final AiBulkJobRunner jobRunner;
+
+    public AiBulkJobController(AiBulkJobService jobService, AiBulkJobRunner jobRunner) {
+        this.jobService = jobService;
+        this.jobRunner = jobRunner;
+    }
+
+    // Gövde: {"kulupIds": [1, 2, 3]}; boş veya eksikse tüm aktif kulüpler
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> create(@RequestBody(required = false) Map<String, List<Long>> payload,
+                                                      Authentication auth) {
+        List<Long> kulupIds = payload == null ? List.of() : payload.getOrDefault("kulupIds", List.of());
+        AiBulkJob job = jobService.create(kulupIds, auth == null ? null : auth.getName());
+        jobRunner.submit(job.getId());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(jobService.progress(job.getId()));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Map<String, Object>> progress(@PathVariable Long id) {
+        Map<String, Object> progress = jobService.progress(id);
+        return progress == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(progress);
+    }
+
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<Map<String, Object>> cancel(@PathVariable Long id) {
+        if (!jobService.cancel(id)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(jobService.progress(id));
+        }
+        return ResponseEntity.ok(jobService.progress(id));
+    }
+}
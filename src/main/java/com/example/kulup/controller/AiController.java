@@ -1,13 +1,17 @@
 package com.example.kulup.controller;
 
+import com.example.kulup.dto.AiResult;
+import com.example.kulup.service.AiExecutor;
+import com.example.kulup.service.AiFaqIndex;
+import com.example.kulup.service.AiResponseCache;
+import com.example.kulup.service.AiSemanticCache;
+import com.example.kulup.service.AiUsageMetrics;
+import com.example.kulup.service.GeminiService;
+import com.example.kulup.service.MetrikServisi;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,284 +20,312 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.client.ResourceAccessException;
-import org.springframework.web.client.RestClientResponseException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
-import java.util.LinkedHashSet;
-import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/ai")
 public class AiController {
 
-    private static final Logger logger = LoggerFactory.getLogger(AiController.class);
-    private static final List<String> MODEL_FALLBACKS = List.of(
-            "gemini-1.5-flash-latest",
-            "gemini-1.5-flash",
-            "gemini-1.5-flash-8b",
-            "gemini-1.5-pro-latest",
-            "gemini-1.5-pro",
-            "gemini-1.0-pro",
-            "gemini-pro"
-    );
-
     private final ObjectMapper objectMapper;
-    private final RestTemplate restTemplate;
-    private final String apiKey;
-    private final String apiBase;
-    private final String apiVersion;
-    private final String apiModel;
+    private final GeminiService geminiService;
+    private final AiResponseCache responseCache;
+    private final AiExecutor aiExecutor;
+    private final AiFaqIndex faqIndex;
+    private final AiSemanticCache semanticCache;
+    private final MetrikServisi metrikServisi;
+    private final AiUsageMetrics usageMetrics;
+    private final long streamDeadlineMs;
+    // Prompt özeti -> sürmekte olan upstream çağrı; aynı prompt için gelen istekler bu çağrıyı bekler
+    private final Map<String, CompletableFuture<AiResult>> inFlight = new ConcurrentHashMap<>();
 
-    public AiController(ObjectMapper objectMapper,
-                        RestTemplateBuilder restTemplateBuilder,
-                        @Value("${gemini.api.key:}") String apiKey,
-                        @Value("${gemini.api.base:https://generativelanguage.googleapis.com}") String apiBase,
-                        @Value("${gemini.api.version:v1beta}") String apiVersion,
-                        @Value("${gemini.api.model:gemini-1.5-flash-latest}") String apiModel) {
+    public AiController(ObjectMapper objectMapper, GeminiService geminiService, AiResponseCache responseCache,
+                        AiExecutor aiExecutor, AiFaqIndex faqIndex, AiSemanticCache semanticCache,
+                        MetrikServisi metrikServisi, AiUsageMetrics usageMetrics,
+                        @Value("${ai.stream.deadline-ms:60000}") long streamDeadlineMs) {
         this.objectMapper = objectMapper;
-        this.restTemplate = restTemplateBuilder.build();
-        this.apiKey = apiKey;
-        this.apiBase = apiBase;
-        this.apiVersion = apiVersion;
-        this.apiModel = apiModel;
+        this.geminiService = geminiService;
+        this.responseCache = responseCache;
+        this.aiExecutor = aiExecutor;
+        this.faqIndex = faqIndex;
+        this.semanticCache = semanticCache;
+        this.metrikServisi = metrikServisi;
+        this.usageMetrics = usageMetrics;
+        this.streamDeadlineMs = streamDeadlineMs;
+        metrikServisi.gostergeEkle("ai.singleflight.inflight", inFlight::size);
     }
 
     @PostMapping("/club-description")
-    public Map<String, String> clubDescription(@RequestBody Map<String, String> payload) {
+    public CompletableFuture<ResponseEntity<Map<String, String>>> clubDescription(@RequestBody Map<String, String> payload) {
         String clubName = payload.getOrDefault("clubName", "").trim();
-        String prompt = "Kulup adi: " + clubName + ". "
-                + "2-3 cumlelik kisa ve net bir kulup aciklamasi yaz. "
-                + "Sadece aciklama metnini ver.";
-        String text = generateText(prompt);
-        return Map.of("description", text);
+        String prompt = GeminiService.clubDescriptionPrompt(clubName);
+        boolean regenerate = isRegenerate(payload);
+        return respond("club-description",
+                generateCached("club-description", prompt, regenerate)
+                        .thenApply(result -> Map.of("description", result.getText())),
+                message -> Map.of("description", message));
     }
 
     @PostMapping("/event-suggestion")
-    public Map<String, String> eventSuggestion(@RequestBody Map<String, String> payload) {
+    public CompletableFuture<ResponseEntity<Map<String, String>>> eventSuggestion(@RequestBody Map<String, String> payload) {
         String clubName = payload.getOrDefault("clubName", "").trim();
         String prompt = "Bir universite kulubu icin etkinlik onerisi ver. "
                 + "Kulup adi: " + clubName + ". "
                 + "Cevabi sadece JSON olarak ver: "
                 + "{\"title\":\"...\",\"description\":\"...\",\"location\":\"...\"}.";
-        String text = generateText(prompt);
-        Map<String, String> parsed = parseJsonSuggestion(text);
-        if (parsed.isEmpty()) {
-            parsed = new HashMap<>();
-            parsed.put("title", "Etkinlik Onerisi");
-            parsed.put("description", text);
-            parsed.put("location", "");
-        }
-        return parsed;
+        boolean regenerate = isRegenerate(payload);
+        return respond("event-suggestion", generateCached("event-suggestion", prompt, regenerate).thenApply(result -> {
+            if (result.isDegraded()) {
+                return cannedSuggestion(clubName);
+            }
+            String text = result.getText();
+            Map<String, String> parsed = parseJsonSuggestion(text);
+            return parsed.isEmpty() ? fallbackSuggestion(text) : parsed;
+        }), this::fallbackSuggestion);
     }
 
+    // Sık sorulan sorular yerel SSS indeksinden, daha önce sorulmuş benzer sorular anlamsal önbellekten yanıtlanır;
+    // yalnızca ikisinde de eşleşmeyenler Gemini'ye gider
     @PostMapping("/assistant")
-    public Map<String, String> assistant(@RequestBody Map<String, String> payload) {
+    public CompletableFuture<ResponseEntity<Map<String, String>>> assistant(@RequestBody Map<String, String> payload) {
         String message = payload.getOrDefault("message", "").trim();
-        String prompt = "Sen Kulup Yonetimi sitesinin yapay zeka asistanisin. "
+        long start = System.nanoTime();
+        String local = localAnswer("assistant", message);
+        if (local != null) {
+            usageMetrics.request("assistant", start, false);
+            return CompletableFuture.completedFuture(ResponseEntity.ok(Map.of("reply", local)));
+        }
+        String prompt = assistantPrompt(message);
+        return respond("assistant", start, generateText("assistant", prompt).thenApply(result -> {
+            if (result.isSuccess()) {
+                semanticCache.put(message, result.getText());
+            }
+            return Map.of("reply", result.getText());
+        }), reply -> Map.of("reply", reply));
+    }
+
+    private String localAnswer(String endpoint, String message) {
+        String faq = faqIndex.answer(message);
+        if (faq != null) {
+            usageMetrics.source(endpoint, "faq");
+            return faq;
+        }
+        String similar = semanticCache.get(message);
+        if (similar != null) {
+            usageMetrics.source(endpoint, "semantic");
+        }
+        return similar;
+    }
+
+    private String assistantPrompt(String message) {
+        return "Sen Kulup Yonetimi sitesinin yapay zeka asistanisin. "
                 + "Kisa ve net cevap ver. "
                 + "Sadece site ozellikleri, roller (Uye/Baskan/Admin), "
                 + "kulup uyeligi, etkinlikler, gorevler ve aidatlar hakkinda bilgi ver. "
                 + "Site disi sorulari nazikce reddet. "
                 + "Soru: " + message;
-        String text = generateText(prompt);
-        return Map.of("reply", text);
     }
 
-    private String generateText(String prompt) {
-        if (apiKey == null || apiKey.isBlank()) {
-            return "AI ayari yapilmamis. Yoneticiye bildirin.";
-        }
-
-        Set<String> versions = buildVersions(apiVersion);
-        List<String> models = buildModels();
-        Set<String> tried = new LinkedHashSet<>();
-
-        Map<String, Object> part = Map.of("text", prompt);
-        Map<String, Object> content = Map.of("role", "user", "parts", List.of(part));
-        Map<String, Object> body = Map.of("contents", List.of(content));
-
-        String json;
-        try {
-            json = objectMapper.writeValueAsString(body);
-        } catch (Exception ex) {
-            return "AI istegi hazirlanamadi.";
-        }
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity<String> entity = new HttpEntity<>(json, headers);
-
-        for (String version : versions) {
-            for (String model : models) {
-                String key = version + ":" + model;
-                if (tried.contains(key)) {
-                    continue;
-                }
-                tried.add(key);
-                String text = callGenerate(version, model, entity);
-                if (text != null && !text.isBlank()) {
-                    return text;
-                }
+    // Asistan yanıtını SSE olarak parça parça gönderir: "chunk" {text}, sonunda "done" {model} veya "error" {message}.
+    // İstemci bağlantıyı kapatırsa iş iptal edilir ve upstream akış kesilir.
+    @PostMapping(value = "/assistant/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter assistantStream(@RequestBody Map<String, String> payload) {
+        String question = payload.getOrDefault("message", "").trim();
+        SseEmitter emitter = new SseEmitter(streamDeadlineMs + 1000);
+        long start = System.nanoTime();
+        String local = localAnswer("assistant-stream", question);
+        if (local != null) {
+            try {
+                emitter.send(SseEmitter.event().name("chunk").data(Map.of("text", local)));
+                emitter.send(SseEmitter.event().name("done").data(Map.of("model", "local")));
+                emitter.complete();
+            } catch (IOException ex) {
+                emitter.completeWithError(ex);
             }
+            usageMetrics.request("assistant-stream", start, false);
+            return emitter;
         }
+        String prompt = assistantPrompt(question);
+        GeminiService.StreamHandle stream = new GeminiService.StreamHandle();
+        CompletableFuture<AiResult> call = aiExecutor.submit(() -> {
+            try {
+                return geminiService.streamText(prompt, stream,
+                        chunk -> emitter.send(SseEmitter.event().name("chunk").data(Map.of("text", chunk))));
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }, streamDeadlineMs);
 
-        for (String version : versions) {
-            List<String> available = fetchModels(version);
-            for (String modelName : available) {
-                String model = stripModelPrefix(modelName);
-                if (model.isBlank()) {
-                    continue;
-                }
-                String key = version + ":" + model;
-                if (tried.contains(key)) {
-                    continue;
-                }
-                tried.add(key);
-                String text = callGenerate(version, model, entity);
-                if (text != null && !text.isBlank()) {
-                    return text;
+        call.whenComplete((result, ex) -> {
+            if (ex != null) {
+                // Süre aşımı/iptal: upstream bağlantısı kesmeyi beklemeden kapatılır
+                stream.cancel();
+            }
+            usageMetrics.request("assistant-stream", start, ex != null);
+            if (result != null) {
+                usageMetrics.generated("assistant-stream", result);
+            }
+            try {
+                if (ex == null && result.isSuccess()) {
+                    semanticCache.put(question, result.getText());
+                    emitter.send(SseEmitter.event().name("done").data(Map.of("model", result.getModel())));
+                } else {
+                    String message = ex == null ? result.getText() : errorMessage(ex);
+                    emitter.send(SseEmitter.event().name("error").data(Map.of("message", message)));
                 }
+                emitter.complete();
+            } catch (Exception ignored) {
+                // istemci zaten gitti
             }
-        }
+        });
+        Runnable cancel = () -> {
+            stream.cancel();
+            call.cancel(true);
+        };
+        emitter.onCompletion(cancel);
+        emitter.onTimeout(cancel);
+        emitter.onError(err -> cancel.run());
+        return emitter;
+    }
 
-        return "AI modeli bulunamadi. API ayarlarini kontrol edin.";
+    private <T> CompletableFuture<ResponseEntity<T>> respond(String endpoint, CompletableFuture<T> call,
+                                                             Function<String, T> errorBody) {
+        return respond(endpoint, System.nanoTime(), call, errorBody);
     }
 
-    private Set<String> buildVersions(String preferred) {
-        Set<String> versions = new LinkedHashSet<>();
-        if (preferred != null && !preferred.isBlank()) {
-            versions.add(preferred.trim());
-        }
-        versions.add("v1");
-        versions.add("v1beta");
-        return versions;
+    // AI çağrısının sonucunu yanıta çevirir; süre aşımı 504, çağrı sınırı 503 olarak aynı gövde biçimiyle döner.
+    // Uç başına toplam süre ve hata sayısı AiUsageMetrics'e yazılır.
+    private <T> CompletableFuture<ResponseEntity<T>> respond(String endpoint, long startNanos, CompletableFuture<T> call,
+                                                             Function<String, T> errorBody) {
+        return call
+                .whenComplete((value, ex) -> usageMetrics.request(endpoint, startNanos, ex != null))
+                .thenApply(ResponseEntity::ok)
+                .exceptionally(ex -> ResponseEntity.status(errorStatus(ex)).body(errorBody.apply(errorMessage(ex))));
     }
 
-    private List<String> buildModels() {
-        List<String> models = new ArrayList<>();
-        if (apiModel != null && !apiModel.isBlank()) {
-            models.add(apiModel.trim());
+    private HttpStatus errorStatus(Throwable ex) {
+        Throwable cause = unwrap(ex);
+        if (cause instanceof TimeoutException) {
+            return HttpStatus.GATEWAY_TIMEOUT;
         }
-        for (String fallback : MODEL_FALLBACKS) {
-            if (!models.contains(fallback)) {
-                models.add(fallback);
-            }
+        if (cause instanceof RejectedExecutionException) {
+            return HttpStatus.SERVICE_UNAVAILABLE;
         }
-        return models;
+        return HttpStatus.INTERNAL_SERVER_ERROR;
     }
 
-    private String callGenerate(String version, String model, HttpEntity<String> entity) {
-        String url = apiBase + "/" + version + "/models/" + model + ":generateContent?key=" + apiKey;
-        try {
-            ResponseEntity<String> response = restTemplate.postForEntity(url, entity, String.class);
-            String text = extractText(response.getBody());
-            return text == null || text.isBlank() ? null : text;
-        } catch (RestClientResponseException ex) {
-            if (ex.getRawStatusCode() == 404) {
-                logger.warn("AI model not found: {} {}", version, model);
-                return null;
-            }
-            logger.warn("AI error status {} body {}", ex.getRawStatusCode(), ex.getResponseBodyAsString());
-            return "AI servis hatasi (" + ex.getRawStatusCode() + ").";
-        } catch (ResourceAccessException ex) {
-            logger.warn("AI network error", ex);
-            return "AI servisine ulasilamadi.";
-        } catch (Exception ex) {
-            logger.warn("AI unexpected error", ex);
-            return "Su an yanit veremiyorum. Daha sonra tekrar deneyin.";
+    private String errorMessage(Throwable ex) {
+        Throwable cause = unwrap(ex);
+        if (cause instanceof TimeoutException) {
+            return "AI yanit suresi asildi. Daha sonra tekrar deneyin.";
         }
+        if (cause instanceof RejectedExecutionException) {
+            return "AI su an yogun. Biraz sonra tekrar deneyin.";
+        }
+        return "Su an yanit veremiyorum. Daha sonra tekrar deneyin.";
     }
 
-    @GetMapping("/models")
-    public Map<String, Object> listModels(@RequestParam(required = false) String version) {
-        Set<String> versions = buildVersions(version);
-        Map<String, Object> response = new HashMap<>();
-        for (String ver : versions) {
-            response.put(ver, fetchModels(ver));
-        }
-        return response;
+    private Throwable unwrap(Throwable ex) {
+        return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
     }
 
-    private List<String> fetchModels(String version) {
-        if (apiKey == null || apiKey.isBlank()) {
-            return List.of();
-        }
-        String url = apiBase + "/" + version + "/models?key=" + apiKey;
-        try {
-            ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
-            return extractModelNames(response.getBody());
-        } catch (RestClientResponseException ex) {
-            logger.warn("AI model list error {} body {}", ex.getRawStatusCode(), ex.getResponseBodyAsString());
-            return List.of();
-        } catch (Exception ex) {
-            logger.warn("AI model list error", ex);
-            return List.of();
+    // Gemini devresi açıkken ve önbellekte yanıt yokken beklemeden dönen hazır öneri
+    private Map<String, String> cannedSuggestion(String clubName) {
+        Map<String, String> suggestion = new HashMap<>();
+        suggestion.put("title", (clubName.isEmpty() ? "Kulup" : clubName) + " Tanisma Bulusmasi");
+        suggestion.put("description", "Yeni ve mevcut uyelerin tanistigi, kulubun donem planinin paylasildigi "
+                + "ve etkinlik fikirlerinin toplandigi kisa bir bulusma.");
+        suggestion.put("location", "Kampus");
+        return suggestion;
+    }
+
+    private Map<String, String> fallbackSuggestion(String text) {
+        Map<String, String> parsed = new HashMap<>();
+        parsed.put("title", "Etkinlik Onerisi");
+        parsed.put("description", text);
+        parsed.put("location", "");
+        return parsed;
+    }
+
+    // Aynı prompt için sürmekte olan bir çağrı varsa yenisini başlatmaz, onun sonucunu paylaşır (single-flight).
+    // Her çağıran kendi türev future'ını alır; biri iptal edilse de ortak upstream çağrı diğerleri için sürer.
+    private CompletableFuture<AiResult> generateText(String endpoint, String prompt) {
+        String key = AiResponseCache.key(prompt);
+        CompletableFuture<AiResult> shared = new CompletableFuture<>();
+        CompletableFuture<AiResult> existing = inFlight.putIfAbsent(key, shared);
+        if (existing != null) {
+            metrikServisi.artir("ai.singleflight.saved");
+            return existing.thenApply(Function.identity());
         }
+        CompletableFuture<AiResult> own = shared.thenApply(Function.identity());
+        aiExecutor.submit(() -> geminiService.generateText(prompt)).whenComplete((result, ex) -> {
+            if (result != null) {
+                usageMetrics.generated(endpoint, result);
+            }
+            // Önce tamamlanır ki bekleyenler (ve önbelleğe yazma) bitmeden yeni gelen istek ikinci bir çağrı başlatmasın
+            if (ex != null) {
+                shared.completeExceptionally(ex);
+            } else {
+                shared.complete(result);
+            }
+            inFlight.remove(key, shared);
+        });
+        return own;
     }
 
-    private List<String> extractModelNames(String responseBody) {
-        if (responseBody == null || responseBody.isBlank()) {
-            return List.of();
+    // Aynı prompt için önbellekteki yanıtı döner; "regenerate" istenirse önbelleği atlayıp yenisini yazar.
+    // Hata mesajları önbelleğe alınmaz. Gemini devresi açıksa süresi dolmuş kayıt da olsa önbellekteki yanıt sunulur.
+    private CompletableFuture<AiResult> generateCached(String endpoint, String prompt, boolean regenerate) {
+        String key = AiResponseCache.key(prompt);
+        if (!regenerate) {
+            String cached = responseCache.get(key);
+            if (cached != null) {
+                usageMetrics.source(endpoint, "cache");
+                return CompletableFuture.completedFuture(AiResult.ok(cached, null));
+            }
         }
-        List<String> names = new ArrayList<>();
-        try {
-            JsonNode root = objectMapper.readTree(responseBody);
-            JsonNode models = root.path("models");
-            if (models.isArray()) {
-                for (JsonNode model : models) {
-                    JsonNode methods = model.path("supportedGenerationMethods");
-                    boolean ok = false;
-                    if (methods.isArray()) {
-                        for (JsonNode method : methods) {
-                            if ("generateContent".equalsIgnoreCase(method.asText(""))) {
-                                ok = true;
-                                break;
-                            }
-                        }
-                    }
-                    if (ok) {
-                        String name = model.path("name").asText("");
-                        if (!name.isBlank()) {
-                            names.add(name);
-                        }
-                    }
+        return generateText(endpoint, prompt).thenApply(result -> {
+            if (result.isSuccess()) {
+                responseCache.put(key, result.getText());
+            } else if (result.isDegraded()) {
+                String stale = responseCache.getStale(key);
+                if (stale != null) {
+                    metrikServisi.artir("ai.circuit.stale-served");
+                    usageMetrics.source(endpoint, "stale");
+                    return AiResult.ok(stale, null);
                 }
             }
-        } catch (Exception ex) {
-            return List.of();
-        }
-        return names;
+            return result;
+        });
     }
 
-    private String stripModelPrefix(String name) {
-        if (name == null) {
-            return "";
-        }
-        String trimmed = name.trim();
-        return trimmed.startsWith("models/") ? trimmed.substring("models/".length()) : trimmed;
+    private boolean isRegenerate(Map<String, String> payload) {
+        return Boolean.parseBoolean(payload.getOrDefault("regenerate", "false"));
     }
 
-    private String extractText(String responseBody) {
-        if (responseBody == null || responseBody.isBlank()) {
-            return "";
-        }
-        try {
-            JsonNode root = objectMapper.readTree(responseBody);
-            JsonNode textNode = root.path("candidates")
-                    .path(0)
-                    .path("content")
-                    .path("parts")
-                    .path(0)
-                    .path("text");
-            return textNode.isMissingNode() ? "" : textNode.asText("").trim();
-        } catch (Exception ex) {
-            return "";
+    // Katalog önbellekten okunur; ilk kez istenen sürüm arka planda yüklenene kadar boş liste döner
+    @GetMapping("/models")
+    public Map<String, Object> listModels(@RequestParam(required = false) String version) {
+        Map<String, Object> response = new HashMap<>();
+        for (String ver : geminiService.buildVersions(version)) {
+            response.put(ver, geminiService.fetchModels(ver));
         }
+        return response;
+    }
+
+    @GetMapping("/model")
+    public Map<String, Object> activeModel() {
+        return geminiService.activeModel();
     }
 
     private Map<String, String> parseJsonSuggestion(String text) {
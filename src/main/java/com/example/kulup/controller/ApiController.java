@@ -1,9 +1,11 @@
 package com.example.kulup.controller;
 
+import com.example.kulup.dto.KullaniciSayaclari;
 import com.example.kulup.model.Aidat;
 import com.example.kulup.model.Etkinlik;
 import com.example.kulup.model.Gorev;
 import com.example.kulup.model.Kulup;
+import com.example.kulup.model.KulupIstatistik;
 import com.example.kulup.model.User;
 import com.example.kulup.model.Uye;
 import com.example.kulup.repository.AidatRepository;
@@ -12,9 +14,12 @@ import com.example.kulup.repository.GorevRepository;
 import com.example.kulup.repository.KulupRepository;
 import com.example.kulup.repository.UserRepository;
 import com.example.kulup.repository.UyeRepository;
-import com.example.kulup.service.PushNotificationService;
+import com.example.kulup.service.KulupIstatistikServisi;
+import com.example.kulup.service.PushFanoutService;
+import com.example.kulup.service.PushMakbuzServisi;
 import com.example.kulup.service.MailServisi;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -31,8 +36,10 @@ public class ApiController {
     private final GorevRepository gorevRepository;
     private final AidatRepository aidatRepository;
     private final UserRepository userRepository;
-    private final PushNotificationService pushNotificationService;
+    private final PushFanoutService pushFanoutService;
+    private final PushMakbuzServisi pushMakbuzServisi;
     private final MailServisi mailServisi;
+    private final KulupIstatistikServisi kulupIstatistikServisi;
 
     public ApiController(KulupRepository kulupRepository,
             UyeRepository uyeRepository,
@@ -40,16 +47,20 @@ public class ApiController {
             GorevRepository gorevRepository,
             AidatRepository aidatRepository,
             UserRepository userRepository,
-            PushNotificationService pushNotificationService,
-            MailServisi mailServisi) {
+            PushFanoutService pushFanoutService,
+            PushMakbuzServisi pushMakbuzServisi,
+            MailServisi mailServisi,
+            KulupIstatistikServisi kulupIstatistikServisi) {
         this.kulupRepository = kulupRepository;
         this.uyeRepository = uyeRepository;
         this.etkinlikRepository = etkinlikRepository;
         this.gorevRepository = gorevRepository;
         this.aidatRepository = aidatRepository;
         this.userRepository = userRepository;
-        this.pushNotificationService = pushNotificationService;
+        this.pushFanoutService = pushFanoutService;
+        this.pushMakbuzServisi = pushMakbuzServisi;
         this.mailServisi = mailServisi;
+        this.kulupIstatistikServisi = kulupIstatistikServisi;
     }
 
     @GetMapping("/kulup/{id}")
@@ -99,13 +110,14 @@ public class ApiController {
     // Kulüp İstatistikleri
     @GetMapping("/kulup/{kulupId}/istatistikler")
     public Map<String, Object> getKulupIstatistikleri(@PathVariable Long kulupId) {
+        KulupIstatistik istatistik = kulupIstatistikServisi.getir(kulupId);
         Map<String, Object> stats = new HashMap<>();
-        stats.put("toplamUye", uyeRepository.findByKulupIdAndDurum(kulupId, "ONAYLANDI").size());
-        stats.put("toplamEtkinlik", etkinlikRepository.findByKulupId(kulupId).size());
-        stats.put("odenenAidat", aidatRepository.sumOdenenByKulupId(kulupId));
-        stats.put("bekleyenAidat", aidatRepository.sumOdenmeyenByKulupId(kulupId));
-        stats.put("bekleyenTalep", uyeRepository.findByKulupIdAndDurum(kulupId, "ONAY_BEKLIYOR").size());
-        stats.put("bekleyenGorev", gorevRepository.findByUye_Kulup_IdAndDurum(kulupId, "BEKLEMEDE").size());
+        stats.put("toplamUye", istatistik.getOnayliUye());
+        stats.put("toplamEtkinlik", istatistik.getToplamEtkinlik());
+        stats.put("odenenAidat", istatistik.getOdenenAidat());
+        stats.put("bekleyenAidat", istatistik.getBekleyenAidat());
+        stats.put("bekleyenTalep", istatistik.getBekleyenTalep());
+        stats.put("bekleyenGorev", istatistik.getBekleyenGorev());
         return stats;
     }
 
@@ -207,19 +219,12 @@ public class ApiController {
         return uyeRepository.findByUserId(userId);
     }
 
-    // Kullanıcının TÜM görevleri (mobil) - tüm üyeliklerinden
+    // Kullanıcının TÜM görevleri (mobil) - tüm üyeliklerinden, son tarihe göre sıralı; ?durum= ile filtrelenebilir
     @GetMapping("/user/{userId}/gorevler")
-    public ResponseEntity<?> getUserGorevler(@PathVariable Long userId) {
+    public ResponseEntity<?> getUserGorevler(@PathVariable Long userId,
+            @RequestParam(required = false) String durum) {
         try {
-            List<Uye> uyelikler = uyeRepository.findByUserId(userId);
-            List<Gorev> tumGorevler = new java.util.ArrayList<>();
-
-            for (Uye uye : uyelikler) {
-                List<Gorev> gorevler = gorevRepository.findByUyeId(uye.getId());
-                tumGorevler.addAll(gorevler);
-            }
-
-            return ResponseEntity.ok(tumGorevler);
+            return ResponseEntity.ok(gorevRepository.findOzetByUserId(userId, durum));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -245,6 +250,7 @@ public class ApiController {
     // Herkes için görev ekleme (mobil) - üye kendi kulüplerindeki üyelere görev
     // verebilir
     @PostMapping("/gorev-ekle")
+    @Transactional
     public ResponseEntity<?> gorevEkleHerkes(@RequestBody Map<String, Object> body) {
         try {
             Long atayanUserId = Long.parseLong(body.get("atayanUserId").toString());
@@ -286,7 +292,7 @@ public class ApiController {
             User atayanUser = userRepository.findById(atayanUserId).orElse(null);
             if (hedefUser != null && hedefUser.getExpoPushToken() != null) {
                 String atayanAd = atayanUser != null ? atayanUser.getAdSoyad() : "Birisi";
-                pushNotificationService.sendGorevBildirimi(
+                pushFanoutService.gorevBildirimiBaslat(
                         hedefUser.getExpoPushToken(),
                         baslik,
                         atayanAd);
@@ -377,24 +383,34 @@ public class ApiController {
             String baslik = body.get("baslik");
             String mesaj = body.get("mesaj");
 
-            List<Uye> uyeler = uyeRepository.findByKulupId(kulupId);
-            int gonderilen = 0;
-            for (Uye uye : uyeler) {
-                if (uye.getUser() != null && uye.getUser().getExpoPushToken() != null) {
-                    pushNotificationService.sendPushNotification(
-                            uye.getUser().getExpoPushToken(),
-                            baslik,
-                            mesaj);
-                    gonderilen++;
-                }
-            }
+            List<String> tokens = uyeRepository.findByKulupId(kulupId).stream()
+                    .filter(uye -> uye.getUser() != null && uye.getUser().getExpoPushToken() != null)
+                    .map(uye -> uye.getUser().getExpoPushToken())
+                    .toList();
+            String isId = pushFanoutService.baslat(tokens, baslik, mesaj);
 
-            return ResponseEntity.ok(Map.of("message", gonderilen + " üyeye bildirim gönderildi"));
+            return ResponseEntity.ok(Map.of(
+                    "message", tokens.size() + " üyeye bildirim kuyruğa alındı",
+                    "isId", isId));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
 
+    // Toplu bildirim işinin durumu
+    @GetMapping("/bildirim/{isId}/durum")
+    public ResponseEntity<?> getBildirimDurumu(@PathVariable String isId) {
+        return pushFanoutService.durum(isId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Makbuz kontrolü ve temizlenen token sayıları
+    @GetMapping("/bildirim/makbuz-durumu")
+    public Map<String, Object> getMakbuzDurumu() {
+        return pushMakbuzServisi.durum();
+    }
+
     // ========== MOBİL AUTH API ==========
 
     // Mobil giriş
@@ -454,14 +470,7 @@ public class ApiController {
 
             // Hoşgeldin maili gönder
             try {
-                String mailBaslik = "Kulüp Takip Sistemine Hoşgeldiniz!";
-                String mailMesaj = "Sayın " + adSoyad + ",\n\n" +
-                        "Kulüp Takip Sistemine başarıyla kayıt oldunuz.\n\n" +
-                        "Artık kulüplere katılabilir, etkinliklere katılabilir ve görevlerinizi takip edebilirsiniz.\n\n"
-                        +
-                        "İyi günler dileriz.\n" +
-                        "Kulüp Takip Ekibi";
-                mailServisi.mailGonder(email, mailBaslik, mailMesaj);
+                mailServisi.sablonluGonder("hosgeldin:" + user.getId(), email, "hosgeldin", Map.of("adSoyad", adSoyad));
             } catch (Exception mailEx) {
                 System.err.println("Mail gönderilemedi: " + mailEx.getMessage());
             }
@@ -482,35 +491,17 @@ public class ApiController {
             return ResponseEntity.notFound().build();
         }
 
-        List<Uye> uyelikler = uyeRepository.findByUserId(userId);
-        int toplamGorev = 0;
-        int toplamEtkinlik = 0;
-
-        // Kullanıcının başkan olduğu kulüpleri de say
-        List<Kulup> baskanKulupler = kulupRepository.findByBaskanId(userId);
-        java.util.Set<Long> kulupIds = new java.util.HashSet<>();
-
-        for (Uye uye : uyelikler) {
-            toplamGorev += gorevRepository.findByUyeId(uye.getId()).size();
-            kulupIds.add(uye.getKulup().getId());
-        }
-        for (Kulup k : baskanKulupler) {
-            kulupIds.add(k.getId());
-        }
-
-        // Her kulüpün etkinlik sayısını topla
-        for (Long kulupId : kulupIds) {
-            toplamEtkinlik += etkinlikRepository.findByKulupId(kulupId).size();
-        }
+        KullaniciSayaclari sayaclar = userRepository.sayaclar(userId)
+                .orElseGet(() -> new KullaniciSayaclari(0L, 0L, 0L, 0L));
 
         Map<String, Object> profil = new HashMap<>();
         profil.put("id", user.getId());
         profil.put("email", user.getEmail());
         profil.put("adSoyad", user.getAdSoyad());
         profil.put("rol", user.getRole());
-        profil.put("uyelikSayisi", uyelikler.size() + baskanKulupler.size());
-        profil.put("gorevSayisi", toplamGorev);
-        profil.put("etkinlikSayisi", toplamEtkinlik);
+        profil.put("uyelikSayisi", sayaclar.getUyelikSayisi() + sayaclar.getBaskanlikSayisi());
+        profil.put("gorevSayisi", sayaclar.getGorevSayisi());
+        profil.put("etkinlikSayisi", sayaclar.getEtkinlikSayisi());
 
         return ResponseEntity.ok(profil);
     }
@@ -7,6 +7,8 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @Controller
 public class AuthController {
 
@@ -46,13 +48,7 @@ public class AuthController {
 
         // Hoşgeldin maili gönder
         try {
-            String mailBaslik = "Kulüp Takip Sistemine Hoşgeldiniz!";
-            String mailMesaj = "Sayın " + adSoyad + ",\n\n" +
-                    "Kulüp Takip Sistemine başarıyla kayıt oldunuz.\n\n" +
-                    "Artık kulüplere katılabilir, etkinliklere katılabilir ve görevlerinizi takip edebilirsiniz.\n\n" +
-                    "İyi günler dileriz.\n" +
-                    "Kulüp Takip Ekibi";
-            mailServisi.mailGonder(email, mailBaslik, mailMesaj);
+            mailServisi.sablonluGonder("hosgeldin:" + user.getId(), email, "hosgeldin", Map.of("adSoyad", adSoyad));
             System.out.println("MAIL GÖNDERILDI: " + email);
         } catch (Exception mailEx) {
             System.err.println("MAIL GÖNDERILEMEDI: " + mailEx.getMessage());
@@ -4,6 +4,7 @@ import com.example.kulup.model.Aidat;
 import com.example.kulup.model.Etkinlik;
 import com.example.kulup.model.Gorev;
 import com.example.kulup.model.Kulup;
+import com.example.kulup.model.KulupIstatistik;
 import com.example.kulup.model.User;
 import com.example.kulup.model.Uye;
 import com.example.kulup.repository.AidatRepository;
@@ -12,6 +13,7 @@ import com.example.kulup.repository.GorevRepository;
 import com.example.kulup.repository.KulupRepository;
 import com.example.kulup.repository.UserRepository;
 import com.example.kulup.repository.UyeRepository;
+import com.example.kulup.service.KulupIstatistikServisi;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
@@ -41,26 +43,29 @@ public class BaskanController {
     private final EtkinlikRepository etkinlikRepository;
     private final GorevRepository gorevRepository;
     private final AidatRepository aidatRepository;
+    private final KulupIstatistikServisi kulupIstatistikServisi;
 
     public BaskanController(UserRepository userRepository,
             KulupRepository kulupRepository,
             UyeRepository uyeRepository,
             EtkinlikRepository etkinlikRepository,
             GorevRepository gorevRepository,
-            AidatRepository aidatRepository) {
+            AidatRepository aidatRepository,
+            KulupIstatistikServisi kulupIstatistikServisi) {
         this.userRepository = userRepository;
         this.kulupRepository = kulupRepository;
         this.uyeRepository = uyeRepository;
         this.etkinlikRepository = etkinlikRepository;
         this.gorevRepository = gorevRepository;
         this.aidatRepository = aidatRepository;
+        this.kulupIstatistikServisi = kulupIstatistikServisi;
     }
 
-    private com.example.kulup.service.PushNotificationService pushNotificationService;
+    private com.example.kulup.service.PushFanoutService pushFanoutService;
 
     @org.springframework.beans.factory.annotation.Autowired
-    public void setPushNotificationService(com.example.kulup.service.PushNotificationService pushNotificationService) {
-        this.pushNotificationService = pushNotificationService;
+    public void setPushFanoutService(com.example.kulup.service.PushFanoutService pushFanoutService) {
+        this.pushFanoutService = pushFanoutService;
     }
 
     // Başkanın kulübünü bul
@@ -87,11 +92,12 @@ public class BaskanController {
 
         model.addAttribute("kulup", kulup);
 
-        // Istatistikler
-        model.addAttribute("toplamUye", uyeRepository.findByKulupId(kulup.getId()).size());
-        model.addAttribute("toplamEtkinlik", etkinlikRepository.findByKulupId(kulup.getId()).size());
-        model.addAttribute("odenenAidat", aidatRepository.sumOdenenByKulupId(kulup.getId()));
-        model.addAttribute("bekleyenAidat", aidatRepository.sumOdenmeyenByKulupId(kulup.getId()));
+        // Istatistikler (kulup_istatistik satırı)
+        KulupIstatistik istatistik = kulupIstatistikServisi.getir(kulup.getId());
+        model.addAttribute("toplamUye", istatistik.getTumUye());
+        model.addAttribute("toplamEtkinlik", istatistik.getToplamEtkinlik());
+        model.addAttribute("odenenAidat", istatistik.getOdenenAidat());
+        model.addAttribute("bekleyenAidat", istatistik.getBekleyenAidat());
 
         return "baskan-panel";
     }
@@ -278,6 +284,7 @@ public class BaskanController {
     // --- Etkinlik Yönetimi ---
 
     @PostMapping("/etkinlik-ekle")
+    @org.springframework.transaction.annotation.Transactional
     public String etkinlikEkle(Authentication auth,
             @RequestParam String baslik,
             @RequestParam String aciklama,
@@ -296,16 +303,12 @@ public class BaskanController {
                         kulup);
                 etkinlikRepository.save(etkinlik);
 
-                // Bildirim gönder
-                List<Uye> uyeler = uyeRepository.findByKulupId(kulup.getId());
-                for (Uye uye : uyeler) {
-                    if (uye.getUser() != null && uye.getUser().getExpoPushToken() != null) {
-                        pushNotificationService.sendEtkinlikBildirimi(
-                                uye.getUser().getExpoPushToken(),
-                                baslik,
-                                kulup.getAd());
-                    }
-                }
+                // Bildirimleri aynı transaction içinde outbox'a yaz
+                List<String> tokens = uyeRepository.findByKulupId(kulup.getId()).stream()
+                        .filter(uye -> uye.getUser() != null && uye.getUser().getExpoPushToken() != null)
+                        .map(uye -> uye.getUser().getExpoPushToken())
+                        .toList();
+                pushFanoutService.etkinlikBildirimiBaslat(tokens, baslik, kulup.getAd());
             } catch (Exception e) {
                 System.out.println("Etkinlik ekleme hatası: " + e.getMessage());
             }
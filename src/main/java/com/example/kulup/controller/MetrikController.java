@@ -0,0 +1,33 @@
+package com.example.kulup.controller;
+
+import com.example.kulup.service.AiUsageMetrics;
+import com.example.kulup.service.MetrikServisi;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/metrikler")
+public class MetrikController {
+
+    private final MetrikServisi metrikServisi;
+    private final AiUsageMetrics aiUsageMetrics;
+
+    public MetrikController(MetrikServisi metrikServisi, AiUsageMetrics aiUsageMetrics) {
+        this.metrikServisi = metrikServisi;
+        this.aiUsageMetrics = aiUsageMetrics;
+    }
+
+    @GetMapping
+    public Map<String, Object> metrikler() {
+        return metrikServisi.ozet();
+    }
+
+    // Yalnızca AI metrikleri; önbellek isabet oranları ve token sayılarından tahmini maliyet eklenmiş halde
+    @GetMapping("/ai")
+    public Map<String, Object> aiMetrikleri() {
+        return aiUsageMetrics.report();
+    }
+}
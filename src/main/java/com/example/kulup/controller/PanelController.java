@@ -1,5 +1,6 @@
 package com.example.kulup.controller;
 
+import com.example.kulup.dto.GorevOzeti;
 import com.example.kulup.model.Aidat;
 import com.example.kulup.model.Gorev;
 import com.example.kulup.model.Kulup;
@@ -150,13 +151,10 @@ public class PanelController {
             return "redirect:/giris";
         }
 
-        List<Uye> uyelikler = uyeRepository.findByUserId(user.getId());
         model.addAttribute("user", user);
 
-        // Tüm üyeliklerden görevleri topla
-        List<Gorev> tumGorevler = uyelikler.stream()
-                .flatMap(uye -> gorevRepository.findByUyeId(uye.getId()).stream())
-                .toList();
+        // Tüm üyeliklerdeki görevler tek sorguda, son tarihe göre sıralı
+        List<GorevOzeti> tumGorevler = gorevRepository.findOzetByUserId(user.getId(), null);
         model.addAttribute("gorevler", tumGorevler);
         model.addAttribute("bekleyenSayisi",
                 tumGorevler.stream().filter(gorev -> "BEKLEMEDE".equals(gorev.getDurum())).count());
@@ -0,0 +1,76 @@
+package com.example.kulup.dto;
+
+// Gemini üretiminin sonucu; hata durumunda text kullanıcıya gösterilecek mesajı taşır ve önbelleğe alınmaz
+public class AiResult {
+
+    private final String text;
+    private final boolean success;
+    private final String model;
+    private final boolean degraded;
+    private final long promptTokens;
+    private final long responseTokens;
+    private final int attempts;
+
+    private AiResult(String text, boolean success, String model, boolean degraded,
+                     long promptTokens, long responseTokens, int attempts) {
+        this.text = text;
+        this.success = success;
+        this.model = model;
+        this.degraded = degraded;
+        this.promptTokens = promptTokens;
+        this.responseTokens = responseTokens;
+        this.attempts = attempts;
+    }
+
+    public static AiResult ok(String text, String model) {
+        return ok(text, model, 0, 0);
+    }
+
+    public static AiResult ok(String text, String model, long promptTokens, long responseTokens) {
+        return new AiResult(text, true, model, false, promptTokens, responseTokens, 0);
+    }
+
+    public static AiResult error(String message) {
+        return new AiResult(message, false, null, false, 0, 0, 0);
+    }
+
+    // Devre açık olduğu için çağrı hiç yapılmadı; çağıran önbellekten veya hazır bir yanıtla cevap verebilir
+    public static AiResult unavailable(String message) {
+        return new AiResult(message, false, null, true, 0, 0, 0);
+    }
+
+    public AiResult withAttempts(int attempts) {
+        return new AiResult(text, success, model, degraded, promptTokens, responseTokens, attempts);
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public boolean isDegraded() {
+        return degraded;
+    }
+
+    // "version:model" biçiminde, yanıtı üreten model
+    public String getModel() {
+        return model;
+    }
+
+    // Gemini usageMetadata'dan; önbellekten gelen veya hatalı sonuçlarda 0
+    public long getPromptTokens() {
+        return promptTokens;
+    }
+
+    public long getResponseTokens() {
+        return responseTokens;
+    }
+
+    // Bu sonuç için yapılan upstream generateContent çağrısı sayısı (model çözümü sırasındaki denemeler dahil)
+    public int getAttempts() {
+        return attempts;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.kulup.dto;
+
+import java.time.LocalDate;
+
+// Kullanıcının görev listesi için tek sorguda okunan görev satırı; Uye/Etkinlik/Kulup/User varlıkları yüklenmez
+public class GorevOzeti {
+
+    private final Long id;
+    private final String baslik;
+    private final String aciklama;
+    private final LocalDate sonTarih;
+    private final String durum;
+    private final Long uyeId;
+    private final Long kulupId;
+    private final String kulupAd;
+    private final Long etkinlikId;
+    private final String etkinlikBaslik;
+
+    public GorevOzeti(Long id, String baslik, String aciklama, LocalDate sonTarih, String durum,
+                      Long uyeId, Long kulupId, String kulupAd, Long etkinlikId, String etkinlikBaslik) {
+        this.id = id;
+        this.baslik = baslik;
+        this.aciklama = aciklama;
+        this.sonTarih = sonTarih;
+        this.durum = durum;
+        this.uyeId = uyeId;
+        this.kulupId = kulupId;
+        this.kulupAd = kulupAd;
+        this.etkinlikId = etkinlikId;
+        this.etkinlikBaslik = etkinlikBaslik;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getBaslik() {
+        return baslik;
+    }
+
+    public String getAciklama() {
+        return aciklama;
+    }
+
+    public LocalDate getSonTarih() {
+        return sonTarih;
+    }
+
+    public String getDurum() {
+        return durum;
+    }
+
+    public Long getUyeId() {
+        return uyeId;
+    }
+
+    public Long getKulupId() {
+        return kulupId;
+    }
+
+    // Etkinliğe bağlı görevlerde etkinliğin kulübü, diğerlerinde üyeliğin kulübü
+    public String getKulupAd() {
+        return kulupAd;
+    }
+
+    public Long getEtkinlikId() {
+        return etkinlikId;
+    }
+
+    public String getEtkinlikBaslik() {
+        return etkinlikBaslik;
+    }
+}
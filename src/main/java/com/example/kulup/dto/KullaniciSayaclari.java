@@ -0,0 +1,36 @@
+package com.example.kulup.dto;
+
+// Profil ekranının sayaçları; UserRepository.sayaclar tek sorguda hesaplar
+public class KullaniciSayaclari {
+
+    private final long uyelikSayisi;
+    private final long baskanlikSayisi;
+    private final long gorevSayisi;
+    private final long etkinlikSayisi;
+
+    public KullaniciSayaclari(Long uyelikSayisi, Long baskanlikSayisi, Long gorevSayisi, Long etkinlikSayisi) {
+        this.uyelikSayisi = uyelikSayisi == null ? 0 : uyelikSayisi;
+        this.baskanlikSayisi = baskanlikSayisi == null ? 0 : baskanlikSayisi;
+        this.gorevSayisi = gorevSayisi == null ? 0 : gorevSayisi;
+        this.etkinlikSayisi = etkinlikSayisi == null ? 0 : etkinlikSayisi;
+    }
+
+    public long getUyelikSayisi() {
+        return uyelikSayisi;
+    }
+
+    // Başkanı olduğu kulüpler; başkan aynı zamanda üye kaydına sahip olabilir
+    public long getBaskanlikSayisi() {
+        return baskanlikSayisi;
+    }
+
+    // Tüm üyeliklerindeki görevler
+    public long getGorevSayisi() {
+        return gorevSayisi;
+    }
+
+    // Üyesi veya başkanı olduğu kulüplerin etkinlikleri; her kulüp bir kez sayılır
+    public long getEtkinlikSayisi() {
+        return etkinlikSayisi;
+    }
+}
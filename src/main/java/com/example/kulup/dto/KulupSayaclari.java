@@ -0,0 +1,56 @@
+package com.example.kulup.dto;
+
+import java.math.BigDecimal;
+
+// Kulüp istatistik ekranlarının sayaçları; KulupRepository.sayaclar tek sorguda hesaplar.
+// Aidat toplamları hiç kayıt yoksa null'dır (SUM davranışı), ekranlar bunu 0 olarak gösterir.
+public class KulupSayaclari {
+
+    private final long tumUye;
+    private final long onayliUye;
+    private final long bekleyenTalep;
+    private final long toplamEtkinlik;
+    private final long bekleyenGorev;
+    private final BigDecimal odenenAidat;
+    private final BigDecimal bekleyenAidat;
+
+    public KulupSayaclari(Long tumUye, Long onayliUye, Long bekleyenTalep, Long toplamEtkinlik,
+                          Long bekleyenGorev, BigDecimal odenenAidat, BigDecimal bekleyenAidat) {
+        this.tumUye = tumUye == null ? 0 : tumUye;
+        this.onayliUye = onayliUye == null ? 0 : onayliUye;
+        this.bekleyenTalep = bekleyenTalep == null ? 0 : bekleyenTalep;
+        this.toplamEtkinlik = toplamEtkinlik == null ? 0 : toplamEtkinlik;
+        this.bekleyenGorev = bekleyenGorev == null ? 0 : bekleyenGorev;
+        this.odenenAidat = odenenAidat;
+        this.bekleyenAidat = bekleyenAidat;
+    }
+
+    // Durumu ne olursa olsun tüm üyelik kayıtları
+    public long getTumUye() {
+        return tumUye;
+    }
+
+    public long getOnayliUye() {
+        return onayliUye;
+    }
+
+    public long getBekleyenTalep() {
+        return bekleyenTalep;
+    }
+
+    public long getToplamEtkinlik() {
+        return toplamEtkinlik;
+    }
+
+    public long getBekleyenGorev() {
+        return bekleyenGorev;
+    }
+
+    public BigDecimal getOdenenAidat() {
+        return odenenAidat;
+    }
+
+    public BigDecimal getBekleyenAidat() {
+        return bekleyenAidat;
+    }
+}
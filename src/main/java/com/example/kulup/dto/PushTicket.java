@@ -0,0 +1,55 @@
+package com.example.kulup.dto;
+
+import java.util.Set;
+
+// Expo push/send cevabındaki tek bir mesajın sonucu
+public class PushTicket {
+
+    // Tekrar denendiğinde geçmesi beklenen hatalar
+    private static final Set<String> GECICI_HATALAR = Set.of("MessageRateExceeded", "TransportError");
+
+    private final String status;
+    private final String id;
+    private final String hata;
+    private final String mesaj;
+
+    public PushTicket(String status, String id, String hata, String mesaj) {
+        this.status = status;
+        this.id = id;
+        this.hata = hata;
+        this.mesaj = mesaj;
+    }
+
+    public static PushTicket iletimHatasi(String mesaj) {
+        return new PushTicket("error", null, "TransportError", mesaj);
+    }
+
+    public boolean basarili() {
+        return "ok".equals(status);
+    }
+
+    // Cihaz uygulamayı kaldırmış veya token geçersizleşmiş
+    public boolean cihazKayitliDegil() {
+        return "DeviceNotRegistered".equals(hata);
+    }
+
+    public boolean gecici() {
+        return !basarili() && (hata == null || GECICI_HATALAR.contains(hata));
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getHata() {
+        return hata;
+    }
+
+    public String getMesaj() {
+        return mesaj;
+    }
+}
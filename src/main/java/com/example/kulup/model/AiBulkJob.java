@@ -0,0 +1,84 @@
+package com.example.kulup.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Toplu AI kulüp açıklaması işi; kalemleri AiBulkJobItem tablosundadır
+@Entity
+@Table(name = "ai_bulk_job", indexes = {
+        @Index(name = "idx_ai_bulk_job_status", columnList = "status")
+})
+public class AiBulkJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String status = "PENDING"; // PENDING, RUNNING, DONE, CANCELLED, FAILED
+
+    @Column(nullable = false)
+    private Integer total = 0;
+
+    private String createdBy;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime finishedAt;
+
+    public AiBulkJob() {
+    }
+
+    public AiBulkJob(int total, String createdBy) {
+        this.total = total;
+        this.createdBy = createdBy;
+        this.status = "PENDING";
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Integer getTotal() {
+        return total;
+    }
+
+    public void setTotal(Integer total) {
+        this.total = total;
+    }
+
+    public String getCreatedBy() {
+        return createdBy;
+    }
+
+    public void setCreatedBy(String createdBy) {
+        this.createdBy = createdBy;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.kulup.model;
+
+import jakarta.persistence.*;
+
+// Toplu işteki tek kulüp. Üretilen metin önce burada saklanır (GENERATED), sonra toplu olarak
+// Kulup.aciklama'ya yazılır (WRITTEN); böylece çökme sonrası üretilmiş metinler yeniden üretilmez.
+@Entity
+@Table(name = "ai_bulk_job_item", indexes = {
+        @Index(name = "idx_ai_bulk_job_item_job_status", columnList = "jobId, status")
+})
+public class AiBulkJobItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long jobId;
+
+    @Column(nullable = false)
+    private Long kulupId;
+
+    @Column(nullable = false)
+    private String status = "PENDING"; // PENDING, GENERATED, WRITTEN, FAILED
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(length = 1000)
+    private String text;
+
+    @Column(length = 500)
+    private String lastError;
+
+    public AiBulkJobItem() {
+    }
+
+    public AiBulkJobItem(Long jobId, Long kulupId) {
+        this.jobId = jobId;
+        this.kulupId = kulupId;
+        this.status = "PENDING";
+        this.attempts = 0;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(Long jobId) {
+        this.jobId = jobId;
+    }
+
+    public Long getKulupId() {
+        return kulupId;
+    }
+
+    public void setKulupId(Long kulupId) {
+        this.kulupId = kulupId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
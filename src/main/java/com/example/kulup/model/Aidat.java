@@ -1,13 +1,15 @@
 package com.example.kulup.model;
 
+import com.example.kulup.service.KulupIstatistikDinleyici;
 import jakarta.persistence.*;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
+@EntityListeners(KulupIstatistikDinleyici.class)
 @Table(name = "aidatlar")
-public class Aidat {
+public class Aidat implements KulupIstatistikKaynagi {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -34,6 +36,10 @@ public class Aidat {
     @JsonIgnoreProperties({ "uyeler", "etkinlikler", "aidatlar", "baskan", "hibernateLazyInitializer", "handler" })
     private Kulup kulup;
 
+    // Kulüp istatistiğine son yüklenen/yazılan haliyle katkısı (KulupIstatistikDinleyici)
+    @Transient
+    private KulupIstatistikKatkisi sonKatki;
+
     public Aidat() {
     }
 
@@ -97,4 +103,19 @@ public class Aidat {
     public void setKulup(Kulup kulup) {
         this.kulup = kulup;
     }
+
+    @Override
+    public KulupIstatistikKatkisi istatistikKatkisi() {
+        return KulupIstatistikKatkisi.aidat(kulup == null ? null : kulup.getId(), tutar, odendi);
+    }
+
+    @Override
+    public KulupIstatistikKatkisi sonKatki() {
+        return sonKatki;
+    }
+
+    @Override
+    public void sonKatki(KulupIstatistikKatkisi katki) {
+        this.sonKatki = katki;
+    }
 }
@@ -0,0 +1,194 @@
+package com.example.kulup.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "bildirim_outbox", indexes = {
+        @Index(name = "idx_bildirim_outbox_durum_zaman", columnList = "durum, sonrakiDeneme"),
+        @Index(name = "idx_bildirim_outbox_is", columnList = "isId"),
+        @Index(name = "idx_bildirim_outbox_makbuz", columnList = "makbuzKontrolEdildi, makbuzSonKontrol"),
+        @Index(name = "idx_bildirim_outbox_token", columnList = "token, durum")
+})
+public class BildirimOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 36)
+    private String isId;
+
+    @Column(nullable = false)
+    private String token;
+
+    @Column(nullable = false)
+    private String baslik;
+
+    @Column(nullable = false, length = 1000)
+    private String mesaj;
+
+    @Column(nullable = false)
+    private String durum = "BEKLEMEDE"; // BEKLEMEDE, GONDERILDI, ZEHIRLI
+
+    @Column(nullable = false)
+    private Integer denemeSayisi = 0;
+
+    @Column(nullable = false)
+    private LocalDateTime sonrakiDeneme;
+
+    @Column(length = 500)
+    private String sonHata;
+
+    @Column(nullable = false)
+    private LocalDateTime olusturmaTarihi;
+
+    private LocalDateTime gonderimTarihi;
+
+    // Expo'nun gönderimde verdiği ticket; makbuz sorgusunda kullanılır
+    @Column(length = 64)
+    private String ticketId;
+
+    @Column(nullable = false)
+    private Boolean makbuzKontrolEdildi = false;
+
+    // Makbuzu henüz hazır olmayan ticket en son ne zaman soruldu; sıradaki sorgu önce en eski sorulanları alır
+    private LocalDateTime makbuzSonKontrol;
+
+    // Aynı kullanıcıya kısa sürede düşen bildirimler tek özet bildirimde birleştirilebilir
+    @Column(nullable = false)
+    private Boolean birlestirilebilir = false;
+
+    public BildirimOutbox() {
+    }
+
+    public BildirimOutbox(String isId, String token, String baslik, String mesaj) {
+        this.isId = isId;
+        this.token = token;
+        this.baslik = baslik;
+        this.mesaj = mesaj;
+        this.durum = "BEKLEMEDE";
+        this.denemeSayisi = 0;
+        this.makbuzKontrolEdildi = false;
+        this.birlestirilebilir = false;
+        this.olusturmaTarihi = LocalDateTime.now();
+        this.sonrakiDeneme = this.olusturmaTarihi;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public String getIsId() {
+        return isId;
+    }
+
+    public void setIsId(String isId) {
+        this.isId = isId;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    public String getBaslik() {
+        return baslik;
+    }
+
+    public void setBaslik(String baslik) {
+        this.baslik = baslik;
+    }
+
+    public String getMesaj() {
+        return mesaj;
+    }
+
+    public void setMesaj(String mesaj) {
+        this.mesaj = mesaj;
+    }
+
+    public String getDurum() {
+        return durum;
+    }
+
+    public void setDurum(String durum) {
+        this.durum = durum;
+    }
+
+    public Integer getDenemeSayisi() {
+        return denemeSayisi;
+    }
+
+    public void setDenemeSayisi(Integer denemeSayisi) {
+        this.denemeSayisi = denemeSayisi;
+    }
+
+    public LocalDateTime getSonrakiDeneme() {
+        return sonrakiDeneme;
+    }
+
+    public void setSonrakiDeneme(LocalDateTime sonrakiDeneme) {
+        this.sonrakiDeneme = sonrakiDeneme;
+    }
+
+    public String getSonHata() {
+        return sonHata;
+    }
+
+    public void setSonHata(String sonHata) {
+        this.sonHata = sonHata;
+    }
+
+    public LocalDateTime getOlusturmaTarihi() {
+        return olusturmaTarihi;
+    }
+
+    public void setOlusturmaTarihi(LocalDateTime olusturmaTarihi) {
+        this.olusturmaTarihi = olusturmaTarihi;
+    }
+
+    public LocalDateTime getGonderimTarihi() {
+        return gonderimTarihi;
+    }
+
+    public void setGonderimTarihi(LocalDateTime gonderimTarihi) {
+        this.gonderimTarihi = gonderimTarihi;
+    }
+
+    public String getTicketId() {
+        return ticketId;
+    }
+
+    public void setTicketId(String ticketId) {
+        this.ticketId = ticketId;
+    }
+
+    public LocalDateTime getMakbuzSonKontrol() {
+        return makbuzSonKontrol;
+    }
+
+    public void setMakbuzSonKontrol(LocalDateTime makbuzSonKontrol) {
+        this.makbuzSonKontrol = makbuzSonKontrol;
+    }
+
+    public Boolean getMakbuzKontrolEdildi() {
+        return makbuzKontrolEdildi;
+    }
+
+    public void setMakbuzKontrolEdildi(Boolean makbuzKontrolEdildi) {
+        this.makbuzKontrolEdildi = makbuzKontrolEdildi;
+    }
+
+    public Boolean getBirlestirilebilir() {
+        return birlestirilebilir;
+    }
+
+    public void setBirlestirilebilir(Boolean birlestirilebilir) {
+        this.birlestirilebilir = birlestirilebilir;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.kulup.model;
 
+import com.example.kulup.service.KulupIstatistikDinleyici;
 import jakarta.persistence.*;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
@@ -8,8 +9,9 @@ import java.time.LocalTime;
 import java.util.List;
 
 @Entity
+@EntityListeners(KulupIstatistikDinleyici.class)
 @Table(name = "etkinlikler")
-public class Etkinlik {
+public class Etkinlik implements KulupIstatistikKaynagi {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -39,6 +41,10 @@ public class Etkinlik {
     @JsonIgnore
     private List<Gorev> gorevler;
 
+    // Kulüp istatistiğine son yüklenen/yazılan haliyle katkısı (KulupIstatistikDinleyici)
+    @Transient
+    private KulupIstatistikKatkisi sonKatki;
+
     public Etkinlik() {
     }
 
@@ -120,4 +126,19 @@ public class Etkinlik {
     public void setGorevler(List<Gorev> gorevler) {
         this.gorevler = gorevler;
     }
+
+    @Override
+    public KulupIstatistikKatkisi istatistikKatkisi() {
+        return KulupIstatistikKatkisi.etkinlik(kulup == null ? null : kulup.getId());
+    }
+
+    @Override
+    public KulupIstatistikKatkisi sonKatki() {
+        return sonKatki;
+    }
+
+    @Override
+    public void sonKatki(KulupIstatistikKatkisi katki) {
+        this.sonKatki = katki;
+    }
 }
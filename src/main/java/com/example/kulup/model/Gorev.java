@@ -1,13 +1,15 @@
 package com.example.kulup.model;
 
+import com.example.kulup.service.KulupIstatistikDinleyici;
 import jakarta.persistence.*;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import java.time.LocalDate;
 
 @Entity
+@EntityListeners(KulupIstatistikDinleyici.class)
 @Table(name = "gorevler")
-public class Gorev {
+public class Gorev implements KulupIstatistikKaynagi {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -34,6 +36,10 @@ public class Gorev {
     @JsonIgnoreProperties({ "gorevler", "kulup", "hibernateLazyInitializer", "handler" })
     private Etkinlik etkinlik;
 
+    // Kulüp istatistiğine son yüklenen/yazılan haliyle katkısı (KulupIstatistikDinleyici)
+    @Transient
+    private KulupIstatistikKatkisi sonKatki;
+
     public Gorev() {
     }
 
@@ -98,4 +104,20 @@ public class Gorev {
     public void setEtkinlik(Etkinlik etkinlik) {
         this.etkinlik = etkinlik;
     }
+
+    @Override
+    public KulupIstatistikKatkisi istatistikKatkisi() {
+        Long kulupId = uye == null || uye.getKulup() == null ? null : uye.getKulup().getId();
+        return KulupIstatistikKatkisi.gorev(kulupId, durum);
+    }
+
+    @Override
+    public KulupIstatistikKatkisi sonKatki() {
+        return sonKatki;
+    }
+
+    @Override
+    public void sonKatki(KulupIstatistikKatkisi katki) {
+        this.sonKatki = katki;
+    }
 }
@@ -0,0 +1,103 @@
+package com.example.kulup.model;
+
+import com.example.kulup.dto.KulupSayaclari;
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Kulüp panellerinin sayaçları, kulüp başına tek satır. Uye/Etkinlik/Gorev/Aidat değiştikçe
+// KulupIstatistikServisi tarafından artımlı güncellenir, periyodik mutabakatla doğrulanır.
+@Entity
+@Table(name = "kulup_istatistik")
+public class KulupIstatistik {
+
+    @Id
+    private Long kulupId;
+
+    private long tumUye;
+
+    private long onayliUye;
+
+    private long bekleyenTalep;
+
+    private long toplamEtkinlik;
+
+    private long bekleyenGorev;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal odenenAidat = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal bekleyenAidat = BigDecimal.ZERO;
+
+    private LocalDateTime guncellenme;
+
+    public KulupIstatistik() {
+    }
+
+    public KulupIstatistik(Long kulupId) {
+        this.kulupId = kulupId;
+    }
+
+    // Sayaçları sıfırdan hesaplanmış değerlerle değiştirir
+    public void doldur(KulupSayaclari sayaclar, LocalDateTime zaman) {
+        this.tumUye = sayaclar.getTumUye();
+        this.onayliUye = sayaclar.getOnayliUye();
+        this.bekleyenTalep = sayaclar.getBekleyenTalep();
+        this.toplamEtkinlik = sayaclar.getToplamEtkinlik();
+        this.bekleyenGorev = sayaclar.getBekleyenGorev();
+        this.odenenAidat = sifirla(sayaclar.getOdenenAidat());
+        this.bekleyenAidat = sifirla(sayaclar.getBekleyenAidat());
+        this.guncellenme = zaman;
+    }
+
+    public boolean ayni(KulupSayaclari sayaclar) {
+        return tumUye == sayaclar.getTumUye()
+                && onayliUye == sayaclar.getOnayliUye()
+                && bekleyenTalep == sayaclar.getBekleyenTalep()
+                && toplamEtkinlik == sayaclar.getToplamEtkinlik()
+                && bekleyenGorev == sayaclar.getBekleyenGorev()
+                && odenenAidat.compareTo(sifirla(sayaclar.getOdenenAidat())) == 0
+                && bekleyenAidat.compareTo(sifirla(sayaclar.getBekleyenAidat())) == 0;
+    }
+
+    private static BigDecimal sifirla(BigDecimal deger) {
+        return deger == null ? BigDecimal.ZERO : deger;
+    }
+
+    public Long getKulupId() {
+        return kulupId;
+    }
+
+    public long getTumUye() {
+        return tumUye;
+    }
+
+    public long getOnayliUye() {
+        return onayliUye;
+    }
+
+    public long getBekleyenTalep() {
+        return bekleyenTalep;
+    }
+
+    public long getToplamEtkinlik() {
+        return toplamEtkinlik;
+    }
+
+    public long getBekleyenGorev() {
+        return bekleyenGorev;
+    }
+
+    public BigDecimal getOdenenAidat() {
+        return odenenAidat;
+    }
+
+    public BigDecimal getBekleyenAidat() {
+        return bekleyenAidat;
+    }
+
+    public LocalDateTime getGuncellenme() {
+        return guncellenme;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.kulup.model;
+
+import java.math.BigDecimal;
+
+// Tek bir Uye/Etkinlik/Gorev/Aidat kaydının kulüp istatistiğine katkısı; iki katkının farkı da aynı tiple ifade edilir.
+// Hangi kaydın hangi sayaca girdiği yalnızca buradaki fabrika metotlarında tanımlıdır.
+public class KulupIstatistikKatkisi {
+
+    private final Long kulupId;
+    private final long tumUye;
+    private final long onayliUye;
+    private final long bekleyenTalep;
+    private final long toplamEtkinlik;
+    private final long bekleyenGorev;
+    private final BigDecimal odenenAidat;
+    private final BigDecimal bekleyenAidat;
+
+    private KulupIstatistikKatkisi(Long kulupId, long tumUye, long onayliUye, long bekleyenTalep, long toplamEtkinlik,
+                                   long bekleyenGorev, BigDecimal odenenAidat, BigDecimal bekleyenAidat) {
+        this.kulupId = kulupId;
+        this.tumUye = tumUye;
+        this.onayliUye = onayliUye;
+        this.bekleyenTalep = bekleyenTalep;
+        this.toplamEtkinlik = toplamEtkinlik;
+        this.bekleyenGorev = bekleyenGorev;
+        this.odenenAidat = odenenAidat;
+        this.bekleyenAidat = bekleyenAidat;
+    }
+
+    public static KulupIstatistikKatkisi bos(Long kulupId) {
+        return new KulupIstatistikKatkisi(kulupId, 0, 0, 0, 0, 0, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    public static KulupIstatistikKatkisi uye(Long kulupId, String durum) {
+        return new KulupIstatistikKatkisi(kulupId, 1,
+                "ONAYLANDI".equals(durum) ? 1 : 0,
+                "ONAY_BEKLIYOR".equals(durum) ? 1 : 0,
+                0, 0, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    public static KulupIstatistikKatkisi etkinlik(Long kulupId) {
+        return new KulupIstatistikKatkisi(kulupId, 0, 0, 0, 1, 0, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    public static KulupIstatistikKatkisi gorev(Long kulupId, String durum) {
+        return new KulupIstatistikKatkisi(kulupId, 0, 0, 0, 0, "BEKLEMEDE".equals(durum) ? 1 : 0,
+                BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    public static KulupIstatistikKatkisi aidat(Long kulupId, BigDecimal tutar, Boolean odendi) {
+        BigDecimal miktar = tutar == null ? BigDecimal.ZERO : tutar;
+        boolean odenmis = Boolean.TRUE.equals(odendi);
+        return new KulupIstatistikKatkisi(kulupId, 0, 0, 0, 0, 0,
+                odenmis ? miktar : BigDecimal.ZERO,
+                odenmis ? BigDecimal.ZERO : miktar);
+    }
+
+    public KulupIstatistikKatkisi arti(KulupIstatistikKatkisi diger) {
+        return new KulupIstatistikKatkisi(kulupId,
+                tumUye + diger.tumUye,
+                onayliUye + diger.onayliUye,
+                bekleyenTalep + diger.bekleyenTalep,
+                toplamEtkinlik + diger.toplamEtkinlik,
+                bekleyenGorev + diger.bekleyenGorev,
+                odenenAidat.add(diger.odenenAidat),
+                bekleyenAidat.add(diger.bekleyenAidat));
+    }
+
+    public KulupIstatistikKatkisi eksi(KulupIstatistikKatkisi diger) {
+        return arti(diger.negatif());
+    }
+
+    public KulupIstatistikKatkisi negatif() {
+        return new KulupIstatistikKatkisi(kulupId, -tumUye, -onayliUye, -bekleyenTalep, -toplamEtkinlik,
+                -bekleyenGorev, odenenAidat.negate(), bekleyenAidat.negate());
+    }
+
+    public boolean bosMu() {
+        return tumUye == 0 && onayliUye == 0 && bekleyenTalep == 0 && toplamEtkinlik == 0 && bekleyenGorev == 0
+                && odenenAidat.signum() == 0 && bekleyenAidat.signum() == 0;
+    }
+
+    public Long getKulupId() {
+        return kulupId;
+    }
+
+    public long getTumUye() {
+        return tumUye;
+    }
+
+    public long getOnayliUye() {
+        return onayliUye;
+    }
+
+    public long getBekleyenTalep() {
+        return bekleyenTalep;
+    }
+
+    public long getToplamEtkinlik() {
+        return toplamEtkinlik;
+    }
+
+    public long getBekleyenGorev() {
+        return bekleyenGorev;
+    }
+
+    public BigDecimal getOdenenAidat() {
+        return odenenAidat;
+    }
+
+    public BigDecimal getBekleyenAidat() {
+        return bekleyenAidat;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.kulup.model;
+
+// Kulüp istatistiğine katkısı olan varlıklar. sonKatki, varlığın yüklendiği/yazıldığı andaki katkısıdır;
+// KulupIstatistikDinleyici güncelleme ve silmede farkı bununla hesaplar.
+public interface KulupIstatistikKaynagi {
+
+    KulupIstatistikKatkisi istatistikKatkisi();
+
+    KulupIstatistikKatkisi sonKatki();
+
+    void sonKatki(KulupIstatistikKatkisi katki);
+}
@@ -0,0 +1,169 @@
+package com.example.kulup.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "mail_outbox", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_mail_outbox_tekil_anahtar", columnNames = "tekilAnahtar")
+}, indexes = {
+        @Index(name = "idx_mail_outbox_durum_zaman", columnList = "durum, sonrakiDeneme"),
+        @Index(name = "idx_mail_outbox_kilit", columnList = "kilit")
+})
+public class MailOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Aynı mailin iki kez kuyruğa girmesini engeller (örn. "hosgeldin:42", "aidat-hatirlatma:42:2025-03")
+    @Column(nullable = false, length = 200)
+    private String tekilAnahtar;
+
+    @Column(nullable = false)
+    private String email;
+
+    @Column(nullable = false)
+    private String baslik;
+
+    @Column(nullable = false, length = 4000)
+    private String mesaj;
+
+    @Column(nullable = false)
+    private String durum = "BEKLEMEDE"; // BEKLEMEDE, ISLENIYOR, GONDERILDI, ZEHIRLI
+
+    @Column(nullable = false)
+    private Integer denemeSayisi = 0;
+
+    @Column(nullable = false)
+    private LocalDateTime sonrakiDeneme;
+
+    @Column(length = 500)
+    private String sonHata;
+
+    // Kaydı sahiplenen düğümün talep kimliği; ISLENIYOR durumunda dolu
+    @Column(length = 100)
+    private String kilit;
+
+    private LocalDateTime kilitZamani;
+
+    @Column(nullable = false)
+    private LocalDateTime olusturmaTarihi;
+
+    private LocalDateTime gonderimTarihi;
+
+    public MailOutbox() {
+    }
+
+    public MailOutbox(String tekilAnahtar, String email, String baslik, String mesaj) {
+        this.tekilAnahtar = tekilAnahtar;
+        this.email = email;
+        this.baslik = baslik;
+        this.mesaj = mesaj;
+        this.durum = "BEKLEMEDE";
+        this.denemeSayisi = 0;
+        this.olusturmaTarihi = LocalDateTime.now();
+        this.sonrakiDeneme = this.olusturmaTarihi;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public String getTekilAnahtar() {
+        return tekilAnahtar;
+    }
+
+    public void setTekilAnahtar(String tekilAnahtar) {
+        this.tekilAnahtar = tekilAnahtar;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getBaslik() {
+        return baslik;
+    }
+
+    public void setBaslik(String baslik) {
+        this.baslik = baslik;
+    }
+
+    public String getMesaj() {
+        return mesaj;
+    }
+
+    public void setMesaj(String mesaj) {
+        this.mesaj = mesaj;
+    }
+
+    public String getDurum() {
+        return durum;
+    }
+
+    public void setDurum(String durum) {
+        this.durum = durum;
+    }
+
+    public Integer getDenemeSayisi() {
+        return denemeSayisi;
+    }
+
+    public void setDenemeSayisi(Integer denemeSayisi) {
+        this.denemeSayisi = denemeSayisi;
+    }
+
+    public LocalDateTime getSonrakiDeneme() {
+        return sonrakiDeneme;
+    }
+
+    public void setSonrakiDeneme(LocalDateTime sonrakiDeneme) {
+        this.sonrakiDeneme = sonrakiDeneme;
+    }
+
+    public String getSonHata() {
+        return sonHata;
+    }
+
+    public void setSonHata(String sonHata) {
+        this.sonHata = sonHata;
+    }
+
+    public String getKilit() {
+        return kilit;
+    }
+
+    public void setKilit(String kilit) {
+        this.kilit = kilit;
+    }
+
+    public LocalDateTime getKilitZamani() {
+        return kilitZamani;
+    }
+
+    public void setKilitZamani(LocalDateTime kilitZamani) {
+        this.kilitZamani = kilitZamani;
+    }
+
+    public LocalDateTime getOlusturmaTarihi() {
+        return olusturmaTarihi;
+    }
+
+    public void setOlusturmaTarihi(LocalDateTime olusturmaTarihi) {
+        this.olusturmaTarihi = olusturmaTarihi;
+    }
+
+    public LocalDateTime getGonderimTarihi() {
+        return gonderimTarihi;
+    }
+
+    public void setGonderimTarihi(LocalDateTime gonderimTarihi) {
+        this.gonderimTarihi = gonderimTarihi;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.kulup.model;
 
+import com.example.kulup.service.KulupIstatistikDinleyici;
 import jakarta.persistence.*;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
@@ -7,8 +8,9 @@ import java.time.LocalDate;
 import java.util.List;
 
 @Entity
+@EntityListeners(KulupIstatistikDinleyici.class)
 @Table(name = "uyeler")
-public class Uye {
+public class Uye implements KulupIstatistikKaynagi {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -44,6 +46,10 @@ public class Uye {
     @JsonIgnore
     private List<Aidat> aidatlar;
 
+    // Kulüp istatistiğine son yüklenen/yazılan haliyle katkısı (KulupIstatistikDinleyici)
+    @Transient
+    private KulupIstatistikKatkisi sonKatki;
+
     public Uye() {
     }
 
@@ -133,4 +139,19 @@ public class Uye {
     public void setAidatlar(List<Aidat> aidatlar) {
         this.aidatlar = aidatlar;
     }
+
+    @Override
+    public KulupIstatistikKatkisi istatistikKatkisi() {
+        return KulupIstatistikKatkisi.uye(kulup == null ? null : kulup.getId(), durum);
+    }
+
+    @Override
+    public KulupIstatistikKatkisi sonKatki() {
+        return sonKatki;
+    }
+
+    @Override
+    public void sonKatki(KulupIstatistikKatkisi katki) {
+        this.sonKatki = katki;
+    }
 }
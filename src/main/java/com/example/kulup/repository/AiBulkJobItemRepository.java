@@ -0,0 +1,16 @@
+package com.example.kulup.repository;
+
+import com.example.kulup.model.AiBulkJobItem;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface AiBulkJobItemRepository extends JpaRepository<AiBulkJobItem, Long> {
+    List<AiBulkJobItem> findByJobIdAndStatusOrderByIdAsc(Long jobId, String status, Pageable pageable);
+
+    // durum -> adet; ilerleme raporu için
+    @Query("SELECT i.status, COUNT(i) FROM AiBulkJobItem i WHERE i.jobId = ?1 GROUP BY i.status")
+    List<Object[]> countByStatus(Long jobId);
+}
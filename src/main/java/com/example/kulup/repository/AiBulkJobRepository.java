@@ -0,0 +1,20 @@
+package com.example.kulup.repository;
+
+import com.example.kulup.model.AiBulkJob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface AiBulkJobRepository extends JpaRepository<AiBulkJob, Long> {
+    List<AiBulkJob> findByStatusInOrderByIdAsc(Collection<String> statuses);
+
+    // Durum değişikliği (iptal, bitiş) ile kulüplere yazma aynı anda yapılmasın diye iş satırı kilitlenir
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM AiBulkJob j WHERE j.id = ?1")
+    Optional<AiBulkJob> kilitle(Long id);
+}
@@ -0,0 +1,47 @@
+package com.example.kulup.repository;
+
+import com.example.kulup.model.BildirimOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface BildirimOutboxRepository extends JpaRepository<BildirimOutbox, Long> {
+    List<BildirimOutbox> findByDurumAndSonrakiDenemeLessThanEqualOrderByIdAsc(
+            String durum, LocalDateTime zaman, Pageable pageable);
+
+    @Query("SELECT o.durum, COUNT(o) FROM BildirimOutbox o WHERE o.isId = ?1 GROUP BY o.durum")
+    List<Object[]> countByIsIdGroupByDurum(String isId);
+
+    // Makbuzu sorulacak gönderimler: hiç sorulmamışlar önce, sonra en uzun süredir sorulmamışlar.
+    // Makbuzu hazır olmayanlar böylece sayfanın başını tutmaz, yeni ticket'lar da sıra bulur.
+    @Query("SELECT o FROM BildirimOutbox o WHERE o.durum = 'GONDERILDI' AND o.makbuzKontrolEdildi = false "
+            + "AND o.ticketId IS NOT NULL AND o.gonderimTarihi <= ?1 "
+            + "AND (o.makbuzSonKontrol IS NULL OR o.makbuzSonKontrol <= ?1) "
+            + "ORDER BY o.makbuzSonKontrol ASC NULLS FIRST, o.id ASC")
+    List<BildirimOutbox> makbuzuSorulacaklar(LocalDateTime zaman, Pageable pageable);
+
+    // Silinen token'lara ait, henüz gönderilmemiş kayıtları da düşür
+    @Modifying
+    @Query("UPDATE BildirimOutbox o SET o.durum = 'ZEHIRLI', o.sonHata = 'DeviceNotRegistered' "
+            + "WHERE o.durum = 'BEKLEMEDE' AND o.token IN ?1")
+    int zehirliIsaretleByTokenIn(Collection<String> tokens);
+
+    // Zamanı gelmiş birleştirilebilir kardeş kayıtlar; geri çekilmedeki kayıtlar özete katılmaz
+    List<BildirimOutbox> findByDurumAndBirlestirilebilirTrueAndTokenInAndSonrakiDenemeLessThanEqual(
+            String durum, Collection<String> tokens, LocalDateTime zaman);
+
+    // Token başına bekleyen birleştirilebilir bildirim sayısı ve en erken gönderim zamanı
+    @Query("SELECT o.token, MIN(o.sonrakiDeneme), COUNT(o) FROM BildirimOutbox o "
+            + "WHERE o.durum = 'BEKLEMEDE' AND o.birlestirilebilir = true AND o.token IN ?1 GROUP BY o.token")
+    List<Object[]> bekleyenBirlesikOzet(Collection<String> tokens);
+
+    @Modifying
+    @Query("UPDATE BildirimOutbox o SET o.sonrakiDeneme = ?2 "
+            + "WHERE o.durum = 'BEKLEMEDE' AND o.birlestirilebilir = true AND o.token IN ?1")
+    int birlesikleriOneAl(Collection<String> tokens, LocalDateTime zaman);
+}
@@ -1,10 +1,12 @@
 package com.example.kulup.repository;
 
+import com.example.kulup.dto.GorevOzeti;
 import com.example.kulup.model.Gorev;
 import com.example.kulup.model.Uye;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
@@ -22,4 +24,13 @@ public interface GorevRepository extends JpaRepository<Gorev, Long> {
     Page<Gorev> findByUye_Kulup_Id(Long kulupId, Pageable pageable);
 
     List<Gorev> findByUye_Kulup_IdAndDurum(Long kulupId, String durum);
+
+    // Kullanıcının tüm üyeliklerindeki görevler tek join'li sorguda; durum null ise filtre yok.
+    // Son tarihi olmayanlar sona, aynı tarihtekiler eklenme sırasıyla
+    @Query("SELECT new com.example.kulup.dto.GorevOzeti(g.id, g.baslik, g.aciklama, g.sonTarih, g.durum, "
+            + "u.id, k.id, COALESCE(ek.ad, k.ad), e.id, e.baslik) "
+            + "FROM Gorev g JOIN g.uye u JOIN u.kulup k LEFT JOIN g.etkinlik e LEFT JOIN e.kulup ek "
+            + "WHERE u.user.id = ?1 AND (?2 IS NULL OR g.durum = ?2) "
+            + "ORDER BY g.sonTarih ASC NULLS LAST, g.id ASC")
+    List<GorevOzeti> findOzetByUserId(Long userId, String durum);
 }
@@ -0,0 +1,32 @@
+package com.example.kulup.repository;
+
+import com.example.kulup.model.KulupIstatistik;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface KulupIstatistikRepository extends JpaRepository<KulupIstatistik, Long> {
+
+    // Artımlı güncelleme tek atomik UPDATE ile; satır yoksa 0 döner ve çağıran satırı sıfırdan hesaplar
+    @Modifying
+    @Query("UPDATE KulupIstatistik i SET i.tumUye = i.tumUye + ?2, i.onayliUye = i.onayliUye + ?3, "
+            + "i.bekleyenTalep = i.bekleyenTalep + ?4, i.toplamEtkinlik = i.toplamEtkinlik + ?5, "
+            + "i.bekleyenGorev = i.bekleyenGorev + ?6, i.odenenAidat = i.odenenAidat + ?7, "
+            + "i.bekleyenAidat = i.bekleyenAidat + ?8, i.guncellenme = ?9 WHERE i.kulupId = ?1")
+    int farkUygula(Long kulupId, long tumUye, long onayliUye, long bekleyenTalep, long toplamEtkinlik,
+            long bekleyenGorev, BigDecimal odenenAidat, BigDecimal bekleyenAidat, LocalDateTime zaman);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM KulupIstatistik i WHERE i.kulupId = ?1")
+    Optional<KulupIstatistik> kilitle(Long kulupId);
+
+    @Modifying
+    @Query("DELETE FROM KulupIstatistik i WHERE i.kulupId NOT IN (SELECT k.id FROM Kulup k)")
+    int sahipsizleriSil();
+}
@@ -1,8 +1,10 @@
 package com.example.kulup.repository;
 
+import com.example.kulup.dto.KulupSayaclari;
 import com.example.kulup.model.Kulup;
 import com.example.kulup.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,4 +14,20 @@ public interface KulupRepository extends JpaRepository<Kulup, Long> {
     long countByAktif(Boolean aktif);
     Optional<Kulup> findByBaskan(User baskan);
     List<Kulup> findByBaskanId(Long baskanId);
+
+    @Query("SELECT k.id FROM Kulup k ORDER BY k.id")
+    List<Long> tumIdler();
+
+    // Kulüp panellerinin tüm sayaçları tek sorguda; kayıtlar yüklenmeden COUNT/SUM alt sorgularıyla.
+    // Paneller kulup_istatistik satırını okur; bu sorgu o satırın ilk hesabı ve mutabakatı içindir
+    @Query("SELECT new com.example.kulup.dto.KulupSayaclari("
+            + "(SELECT COUNT(u) FROM Uye u WHERE u.kulup.id = k.id), "
+            + "(SELECT COUNT(u) FROM Uye u WHERE u.kulup.id = k.id AND u.durum = 'ONAYLANDI'), "
+            + "(SELECT COUNT(u) FROM Uye u WHERE u.kulup.id = k.id AND u.durum = 'ONAY_BEKLIYOR'), "
+            + "(SELECT COUNT(e) FROM Etkinlik e WHERE e.kulup.id = k.id), "
+            + "(SELECT COUNT(g) FROM Gorev g WHERE g.uye.kulup.id = k.id AND g.durum = 'BEKLEMEDE'), "
+            + "(SELECT SUM(a.tutar) FROM Aidat a WHERE a.kulup.id = k.id AND a.odendi = true), "
+            + "(SELECT SUM(a.tutar) FROM Aidat a WHERE a.kulup.id = k.id AND a.odendi = false)) "
+            + "FROM Kulup k WHERE k.id = ?1")
+    Optional<KulupSayaclari> sayaclar(Long kulupId);
 }
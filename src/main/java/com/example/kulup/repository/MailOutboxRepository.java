@@ -0,0 +1,48 @@
+package com.example.kulup.repository;
+
+import com.example.kulup.model.MailOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Long> {
+    boolean existsByTekilAnahtar(String tekilAnahtar);
+
+    @Query("SELECT m.id FROM MailOutbox m WHERE m.durum = 'BEKLEMEDE' AND m.sonrakiDeneme <= ?1 ORDER BY m.id")
+    List<Long> bekleyenIdler(LocalDateTime zaman, Pageable pageable);
+
+    // Koşullu güncelleme: aynı satırı aynı anda yalnızca bir düğüm sahiplenebilir
+    @Transactional
+    @Modifying
+    @Query("UPDATE MailOutbox m SET m.durum = 'ISLENIYOR', m.kilit = ?1, m.kilitZamani = ?2 "
+            + "WHERE m.id IN ?3 AND m.durum = 'BEKLEMEDE'")
+    int sahiplen(String kilit, LocalDateTime zaman, Collection<Long> idler);
+
+    List<MailOutbox> findByKilitAndDurum(String kilit, String durum);
+
+    // Sahiplenip düşen düğümlerin kayıtlarını yeniden kuyruğa bırakır
+    @Transactional
+    @Modifying
+    @Query("UPDATE MailOutbox m SET m.durum = 'BEKLEMEDE', m.kilit = null "
+            + "WHERE m.durum = 'ISLENIYOR' AND m.kilitZamani < ?1")
+    int suresiDolanKilitleriBirak(LocalDateTime sinir);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE MailOutbox m SET m.durum = 'BEKLEMEDE', m.kilit = null WHERE m.id IN ?1 AND m.durum = 'ISLENIYOR'")
+    int birak(Collection<Long> idler);
+
+    // Gönderim sonucu yalnızca kaydı hâlâ bu kilitle tutan düğüm tarafından yazılır; kilit zaman aşımıyla
+    // başka düğüme geçtiyse 0 döner ve sonuç atılır
+    @Modifying
+    @Query("UPDATE MailOutbox m SET m.durum = ?3, m.denemeSayisi = ?4, m.sonrakiDeneme = ?5, m.gonderimTarihi = ?6, "
+            + "m.sonHata = ?7, m.kilit = null WHERE m.id = ?1 AND m.kilit = ?2 AND m.durum = 'ISLENIYOR'")
+    int sonucYaz(Long id, String kilit, String durum, Integer denemeSayisi, LocalDateTime sonrakiDeneme,
+            LocalDateTime gonderimTarihi, String sonHata);
+}
@@ -1,11 +1,29 @@
 package com.example.kulup.repository;
 
+import com.example.kulup.dto.KullaniciSayaclari;
 import com.example.kulup.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @Modifying
+    @Query("UPDATE User u SET u.expoPushToken = null WHERE u.expoPushToken IN ?1")
+    int clearExpoPushTokens(Collection<String> tokens);
+
+    // Profil sayaçları tek sorguda: üyelikler, başkanlıklar, görevler ve üye/başkan olunan kulüplerin etkinlikleri
+    @Query("SELECT new com.example.kulup.dto.KullaniciSayaclari("
+            + "(SELECT COUNT(u) FROM Uye u WHERE u.user.id = usr.id), "
+            + "(SELECT COUNT(k) FROM Kulup k WHERE k.baskan.id = usr.id), "
+            + "(SELECT COUNT(g) FROM Gorev g WHERE g.uye.user.id = usr.id), "
+            + "(SELECT COUNT(e) FROM Etkinlik e WHERE e.kulup.baskan.id = usr.id "
+            + "OR e.kulup.id IN (SELECT u.kulup.id FROM Uye u WHERE u.user.id = usr.id))) "
+            + "FROM User usr WHERE usr.id = ?1")
+    Optional<KullaniciSayaclari> sayaclar(Long userId);
 }
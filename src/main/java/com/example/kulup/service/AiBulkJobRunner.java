@@ -0,0 +1,274 @@
+package com.example.kulup.service;
+
+import com.example.kulup.dto.AiResult;
+import com.example.kulup.model.AiBulkJob;
+import com.example.kulup.model.AiBulkJobItem;
+import com.example.kulup.model.Kulup;
+import com.example.kulup.repository.AiBulkJobItemRepository;
+import com.example.kulup.repository.AiBulkJobRepository;
+import com.example.kulup.repository.KulupRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Toplu AI açıklama işlerini sırayla çalıştırır. Kalemler batch'ler halinde alınır, sabit boyutlu bir havuzda
+// dakika başına istek sınırına uyularak üretilir ve her batch sonunda kulüplere toplu yazılır.
+// Durum tamamen veritabanındadır: uygulama çökerse açılışta yarım kalan işler kaldığı yerden devam eder.
+@Service
+public class AiBulkJobRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(AiBulkJobRunner.class);
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final int MAX_TEXT_LENGTH = 1000;
+
+    private final AiBulkJobService jobService;
+    private final AiBulkJobRepository jobRepository;
+    private final AiBulkJobItemRepository itemRepository;
+    private final KulupRepository kulupRepository;
+    private final GeminiService geminiService;
+    private final AiResponseCache responseCache;
+    private final MetrikServisi metrikServisi;
+    private final AiUsageMetrics usageMetrics;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long intervalNanos;
+    private final ExecutorService coordinator;
+    private final ExecutorService workers;
+    // Çöken işlerin yeniden denemesi burada zamanlanır; coordinator bekleme süresince diğer işleri çalıştırır
+    private final ScheduledExecutorService retries;
+    // İş başına art arda beklenmeyen hata sayısı; yalnızca coordinator thread'inden erişilir
+    private final Map<Long, Integer> crashes = new HashMap<>();
+    private long nextPermit = System.nanoTime();
+
+    public AiBulkJobRunner(AiBulkJobService jobService,
+                           AiBulkJobRepository jobRepository,
+                           AiBulkJobItemRepository itemRepository,
+                           KulupRepository kulupRepository,
+                           GeminiService geminiService,
+                           AiResponseCache responseCache,
+                           MetrikServisi metrikServisi,
+                           AiUsageMetrics usageMetrics,
+                           @Value("${ai.bulk.concurrency:3}") int concurrency,
+                           @Value("${ai.bulk.rate-per-minute:30}") int ratePerMinute,
+                           @Value("${ai.bulk.batch-size:20}") int batchSize,
+                           @Value("${ai.bulk.max-attempts:3}") int maxAttempts) {
+        this.jobService = jobService;
+        this.jobRepository = jobRepository;
+        this.itemRepository = itemRepository;
+        this.kulupRepository = kulupRepository;
+        this.geminiService = geminiService;
+        this.responseCache = responseCache;
+        this.metrikServisi = metrikServisi;
+        this.usageMetrics = usageMetrics;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, ratePerMinute);
+        this.coordinator = Executors.newSingleThreadExecutor(daemon("ai-bulk"));
+        this.workers = Executors.newFixedThreadPool(concurrency, daemon("ai-bulk-worker-"));
+        this.retries = Executors.newSingleThreadScheduledExecutor(daemon("ai-bulk-retry"));
+    }
+
+    // Çökme/yeniden başlatma sonrası tamamlanmamış işleri yeniden kuyruğa alır
+    @EventListener(ApplicationReadyEvent.class)
+    public void resume() {
+        for (AiBulkJob job : jobRepository.findByStatusInOrderByIdAsc(List.of("PENDING", "RUNNING"))) {
+            logger.info("Resuming AI bulk job {}", job.getId());
+            submit(job.getId());
+        }
+    }
+
+    public void submit(Long jobId) {
+        coordinator.execute(() -> {
+            try {
+                run(jobId);
+                crashes.remove(jobId);
+            } catch (RuntimeException ex) {
+                crashed(jobId, ex);
+            }
+        });
+    }
+
+    // Beklenmeyen hata (ör. writeBack/saveAll sırasında veritabanı hatası): iş artan aralıklarla yeniden kuyruğa alınır,
+    // art arda maxAttempts kez çökerse FAILED yapılır ki ilerleme sonsuza dek RUNNING göstermesin
+    private void crashed(Long jobId, RuntimeException ex) {
+        int count = crashes.merge(jobId, 1, Integer::sum);
+        if (count < maxAttempts) {
+            long backoff = Math.min(60_000L, 5_000L << Math.min(count - 1, 4));
+            logger.warn("AI bulk job {} stopped, retrying in {} ms", jobId, backoff, ex);
+            retries.schedule(() -> submit(jobId), backoff, TimeUnit.MILLISECONDS);
+            return;
+        }
+        crashes.remove(jobId);
+        logger.error("AI bulk job {} failed after {} attempts", jobId, count, ex);
+        try {
+            jobService.finish(jobId, "FAILED");
+            metrikServisi.artir("ai.bulk.job-failed");
+        } catch (RuntimeException finishEx) {
+            // Veritabanına hiç ulaşılamıyorsa iş RUNNING kalır; bir sonraki açılışta devam eder
+            logger.warn("AI bulk job {} could not be marked failed", jobId, finishEx);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retries.shutdownNow();
+        coordinator.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private void run(Long jobId) {
+        if (!jobService.isActive(jobId)) {
+            return;
+        }
+        jobService.markRunning(jobId);
+        // Önceki çalışmada üretilip yazılamamış metinler
+        writeGenerated(jobId);
+
+        int failedRounds = 0;
+        while (jobService.isActive(jobId)) {
+            List<AiBulkJobItem> batch = itemRepository.findByJobIdAndStatusOrderByIdAsc(jobId, "PENDING",
+                    PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                jobService.finish(jobId, "DONE");
+                logger.info("AI bulk job {} done", jobId);
+                return;
+            }
+            int generated = generate(batch);
+            itemRepository.saveAll(batch);
+            writeGenerated(jobId);
+
+            // Batch'in tamamı başarısızsa (kota, devre açık) tekrar denemeden önce giderek artan süre beklenir
+            failedRounds = generated == 0 ? failedRounds + 1 : 0;
+            if (failedRounds > 0 && !sleep(Math.min(60_000L, 5_000L << Math.min(failedRounds - 1, 4)))) {
+                return;
+            }
+        }
+    }
+
+    private int generate(List<AiBulkJobItem> batch) {
+        Map<Long, Kulup> kulupler = kulupRepository.findAllById(batch.stream()
+                        .map(AiBulkJobItem::getKulupId)
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(Kulup::getId, Function.identity()));
+
+        List<CompletableFuture<AiResult>> results = new ArrayList<>(batch.size());
+        for (AiBulkJobItem item : batch) {
+            Kulup kulup = kulupler.get(item.getKulupId());
+            results.add(kulup == null
+                    ? CompletableFuture.completedFuture(null)
+                    : CompletableFuture.supplyAsync(() -> describe(kulup.getAd()), workers));
+        }
+
+        int generated = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            AiBulkJobItem item = batch.get(i);
+            AiResult result = results.get(i).join();
+            if (result == null) {
+                item.setStatus("FAILED");
+                item.setLastError("Kulup bulunamadi");
+                continue;
+            }
+            item.setAttempts(item.getAttempts() + 1);
+            if (result.isSuccess()) {
+                generated++;
+                String text = result.getText();
+                item.setText(text.length() > MAX_TEXT_LENGTH ? text.substring(0, MAX_TEXT_LENGTH) : text);
+                item.setStatus("GENERATED");
+                item.setLastError(null);
+                metrikServisi.artir("ai.bulk.generated");
+                continue;
+            }
+            String error = result.getText();
+            item.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            // Devre açıkken hiç istek yapılmadığı için deneme hakkı harcanmaz
+            if (result.isDegraded()) {
+                item.setAttempts(item.getAttempts() - 1);
+            } else if (item.getAttempts() >= maxAttempts) {
+                item.setStatus("FAILED");
+                metrikServisi.artir("ai.bulk.failed");
+            }
+        }
+        return generated;
+    }
+
+    private AiResult describe(String clubName) {
+        String prompt = GeminiService.clubDescriptionPrompt(clubName);
+        String key = AiResponseCache.key(prompt);
+        String cached = responseCache.get(key);
+        if (cached != null) {
+            usageMetrics.source("bulk", "cache");
+            return AiResult.ok(cached, null);
+        }
+        if (!acquirePermit()) {
+            return AiResult.unavailable("Is durduruldu");
+        }
+        AiResult result = geminiService.generateText(prompt);
+        usageMetrics.generated("bulk", result);
+        if (result.isSuccess()) {
+            responseCache.put(key, result.getText());
+        }
+        return result;
+    }
+
+    // İş bu arada iptal edildiyse kulüplere yazılmaz; üretilen kalemler GENERATED kalır
+    private void writeGenerated(Long jobId) {
+        List<AiBulkJobItem> generated;
+        while (!(generated = itemRepository.findByJobIdAndStatusOrderByIdAsc(jobId, "GENERATED",
+                PageRequest.of(0, batchSize))).isEmpty()) {
+            if (!jobService.writeBack(jobId, generated)) {
+                return;
+            }
+        }
+    }
+
+    // Basit aralıklı hız sınırlayıcı: istekler arasında en az intervalNanos bırakır
+    private boolean acquirePermit() {
+        long wait;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextPermit);
+            nextPermit = slot + intervalNanos;
+            wait = slot - now;
+        }
+        return wait <= 0 || sleep(TimeUnit.NANOSECONDS.toMillis(wait));
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static ThreadFactory daemon(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix.endsWith("-") ? prefix + counter.incrementAndGet() : prefix);
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
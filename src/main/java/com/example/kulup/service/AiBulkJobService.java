@@ -0,0 +1,140 @@
+package com.example.kulup.service;
+
+import com.example.kulup.model.AiBulkJob;
+import com.example.kulup.model.AiBulkJobItem;
+import com.example.kulup.model.Kulup;
+import com.example.kulup.repository.AiBulkJobItemRepository;
+import com.example.kulup.repository.AiBulkJobRepository;
+import com.example.kulup.repository.KulupRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Toplu AI açıklama işlerinin kalıcı durumu: iş/kalem oluşturma, üretilen metinleri kulüplere toplu yazma, ilerleme
+@Service
+public class AiBulkJobService {
+
+    private final AiBulkJobRepository jobRepository;
+    private final AiBulkJobItemRepository itemRepository;
+    private final KulupRepository kulupRepository;
+
+    public AiBulkJobService(AiBulkJobRepository jobRepository,
+                            AiBulkJobItemRepository itemRepository,
+                            KulupRepository kulupRepository) {
+        this.jobRepository = jobRepository;
+        this.itemRepository = itemRepository;
+        this.kulupRepository = kulupRepository;
+    }
+
+    // Kulüp listesi boşsa onaylı (aktif) tüm kulüpler için iş açar
+    @Transactional
+    public AiBulkJob create(Collection<Long> kulupIds, String createdBy) {
+        List<Kulup> kulupler = kulupIds == null || kulupIds.isEmpty()
+                ? kulupRepository.findByAktif(true)
+                : kulupRepository.findAllById(kulupIds);
+        AiBulkJob job = jobRepository.save(new AiBulkJob(kulupler.size(), createdBy));
+        itemRepository.saveAll(kulupler.stream()
+                .map(kulup -> new AiBulkJobItem(job.getId(), kulup.getId()))
+                .toList());
+        return job;
+    }
+
+    @Transactional
+    public void markRunning(Long jobId) {
+        jobRepository.findById(jobId).ifPresent(job -> {
+            if ("PENDING".equals(job.getStatus())) {
+                job.setStatus("RUNNING");
+            }
+        });
+    }
+
+    // Yalnızca süren iş bitirilir; arada iptal edilmiş iş CANCELLED kalır
+    @Transactional
+    public void finish(Long jobId, String status) {
+        jobRepository.kilitle(jobId).filter(AiBulkJobService::isActive).ifPresent(job -> {
+            job.setStatus(status);
+            job.setFinishedAt(LocalDateTime.now());
+        });
+    }
+
+    @Transactional
+    public boolean cancel(Long jobId) {
+        AiBulkJob job = jobRepository.kilitle(jobId).orElse(null);
+        if (job == null || !isActive(job)) {
+            return false;
+        }
+        job.setStatus("CANCELLED");
+        job.setFinishedAt(LocalDateTime.now());
+        return true;
+    }
+
+    public boolean isActive(Long jobId) {
+        return jobRepository.findById(jobId)
+                .map(AiBulkJobService::isActive)
+                .orElse(false);
+    }
+
+    private static boolean isActive(AiBulkJob job) {
+        return "PENDING".equals(job.getStatus()) || "RUNNING".equals(job.getStatus());
+    }
+
+    // Üretilen metinleri tek transaction'da kulüplere yazar ve kalemleri WRITTEN yapar;
+    // silinmiş kulüplerin kalemleri FAILED olur. İş artık sürmüyorsa (iptal edildi) hiçbir şey yazmaz ve false döner;
+    // iş satırı kilitli tutulduğu için yazma sürerken gelen iptal yazma bitince uygulanır
+    @Transactional
+    public boolean writeBack(Long jobId, List<AiBulkJobItem> generated) {
+        if (!jobRepository.kilitle(jobId).map(AiBulkJobService::isActive).orElse(false)) {
+            return false;
+        }
+        if (generated.isEmpty()) {
+            return true;
+        }
+        Map<Long, Kulup> kulupler = kulupRepository.findAllById(generated.stream()
+                        .map(AiBulkJobItem::getKulupId)
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(Kulup::getId, Function.identity()));
+        for (AiBulkJobItem item : generated) {
+            Kulup kulup = kulupler.get(item.getKulupId());
+            if (kulup == null) {
+                item.setStatus("FAILED");
+                item.setLastError("Kulup bulunamadi");
+                continue;
+            }
+            kulup.setAciklama(item.getText());
+            item.setStatus("WRITTEN");
+        }
+        kulupRepository.saveAll(kulupler.values());
+        itemRepository.saveAll(generated);
+        return true;
+    }
+
+    public Map<String, Object> progress(Long jobId) {
+        AiBulkJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return null;
+        }
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (String status : List.of("PENDING", "GENERATED", "WRITTEN", "FAILED")) {
+            counts.put(status, 0L);
+        }
+        for (Object[] row : itemRepository.countByStatus(jobId)) {
+            counts.put((String) row[0], (Long) row[1]);
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("id", job.getId());
+        response.put("status", job.getStatus());
+        response.put("total", job.getTotal());
+        response.put("items", counts);
+        response.put("createdAt", job.getCreatedAt());
+        response.put("finishedAt", job.getFinishedAt());
+        return response;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.kulup.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+// Gemini çağrıları için devre kesici. Son windowSize çağrının sonucu halka tamponda tutulur;
+// en az minCalls çağrı içinde hata oranı eşiği geçerse devre açılır ve openMs boyunca çağrı yapılmaz.
+// Süre dolunca tek bir deneme çağrısına izin verilir (yarı açık): başarılıysa devre kapanır, değilse yeniden açılır.
+// Deneme openMs içinde sonuç bildirmezse kaybolmuş sayılır ve yeni bir denemeye izin verilir.
+// Yalnızca sağlayıcı kaynaklı hatalar (429, 5xx, ağ/zaman aşımı) hata sayılır.
+@Service
+public class AiCircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(AiCircuitBreaker.class);
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final MetrikServisi metrikServisi;
+    private final boolean[] window;
+    private final int minCalls;
+    private final int failureRatePercent;
+    private final long openMs;
+
+    private State state = State.CLOSED;
+    private int position;
+    private int calls;
+    private int failures;
+    private long openUntil;
+    private boolean probeInFlight;
+    private long probeStartedAt;
+
+    public AiCircuitBreaker(MetrikServisi metrikServisi,
+                            @Value("${ai.circuit.window-size:20}") int windowSize,
+                            @Value("${ai.circuit.min-calls:10}") int minCalls,
+                            @Value("${ai.circuit.failure-rate:50}") int failureRatePercent,
+                            @Value("${ai.circuit.open-ms:30000}") long openMs) {
+        this.metrikServisi = metrikServisi;
+        this.window = new boolean[windowSize];
+        this.minCalls = Math.min(minCalls, windowSize);
+        this.failureRatePercent = failureRatePercent;
+        this.openMs = openMs;
+        metrikServisi.gostergeEkle("ai.circuit.state", () -> state().ordinal());
+    }
+
+    // Çağrı yapılabilir mi; true dönerse çağıran sonucu record* metotlarından biriyle bildirmeli
+    public synchronized boolean allowRequest() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        if (state == State.OPEN && now >= openUntil) {
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+        }
+        if (state == State.HALF_OPEN && probeInFlight && now - probeStartedAt >= openMs) {
+            // Sonucu hiç bildirilmeyen deneme devreyi kalıcı olarak kilitlemesin
+            logger.warn("AI circuit probe lost after {} ms", now - probeStartedAt);
+            metrikServisi.artir("ai.circuit.probe-lost");
+            probeInFlight = false;
+        }
+        if (state == State.HALF_OPEN && !probeInFlight) {
+            probeInFlight = true;
+            probeStartedAt = now;
+            return true;
+        }
+        metrikServisi.artir("ai.circuit.short-circuit");
+        return false;
+    }
+
+    public synchronized void recordSuccess() {
+        if (state == State.HALF_OPEN) {
+            logger.info("AI circuit closed");
+            state = State.CLOSED;
+            reset();
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void recordFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        if (state == State.CLOSED) {
+            record(true);
+            if (calls >= minCalls && failures * 100 >= failureRatePercent * calls) {
+                open();
+            }
+        }
+    }
+
+    // Sonucu sağlığa dair bilgi vermeyen çağrılar (iptal, kesme); yarı açıkta deneme hakkını geri verir
+    public synchronized void recordIgnored() {
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+        }
+    }
+
+    public synchronized State state() {
+        if (state == State.OPEN && System.currentTimeMillis() >= openUntil) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (calls == window.length) {
+            if (window[position]) {
+                failures--;
+            }
+        } else {
+            calls++;
+        }
+        window[position] = failure;
+        if (failure) {
+            failures++;
+        }
+        position = (position + 1) % window.length;
+    }
+
+    private void open() {
+        if (state != State.OPEN) {
+            logger.warn("AI circuit opened ({}/{} failures)", failures, calls);
+            metrikServisi.artir("ai.circuit.opened");
+        }
+        state = State.OPEN;
+        openUntil = System.currentTimeMillis() + openMs;
+        probeInFlight = false;
+        reset();
+    }
+
+    private void reset() {
+        position = 0;
+        calls = 0;
+        failures = 0;
+    }
+}
@@ -0,0 +1,312 @@
+package com.example.kulup.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+// AiResponseCache'in arkasındaki disk katmanı: yeniden başlatmadan sonra da önceki yanıtlar kullanılabilsin diye
+// prompt özeti -> yanıt kayıtları tek bir append-only log dosyasına yazılır.
+// Kayıt: crc(4) | anahtar(32, SHA-256) | bitiş zamanı(8) | uzunluk(4) | UTF-8 yanıt. Okumalar memory-mapped yapılır.
+// Dizin (anahtar -> konum) açılışta arka planda log taranarak kurulur; yarım kalmış son kayıt CRC ile ayıklanıp kesilir.
+// Ölü (üzerine yazılmış ya da süresi dolmuş) kayıtlar çoğalınca log arka planda sıkıştırılır.
+// Log tek parça map edildiği ve konumlar int'e sığmak zorunda olduğu için boyutu ai.cache.disk.max-kb ile sınırlıdır
+// (en fazla 2 GiB): sınıra gelince yeni kayıt eklenmez, log ölü kayıt bulunan ilk sıkıştırmayla küçülür.
+// Tarama veya sıkıştırma sürerken disk katmanı bekletmez, ıska sayılır.
+@Service
+public class AiDiskCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AiDiskCache.class);
+    private static final String LOG_FILE = "ai-cache.log";
+    private static final int KEY_BYTES = 32;
+    private static final int HEADER_BYTES = 4 + KEY_BYTES + 8 + 4;
+
+    private final MetrikServisi metrikServisi;
+    private final boolean enabled;
+    private final Path directory;
+    private final long compactionMinBytes;
+    private final long maxBytes;
+
+    private final Map<String, Slot> index = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+    private volatile FileChannel channel;
+    private volatile MappedByteBuffer mapped;
+
+    public AiDiskCache(MetrikServisi metrikServisi,
+                       @Value("${ai.cache.disk.enabled:true}") boolean enabled,
+                       @Value("${ai.cache.disk.dizin:data/ai-cache}") String directory,
+                       @Value("${ai.cache.disk.sikistirma-min-kb:1024}") long compactionMinKb,
+                       @Value("${ai.cache.disk.max-kb:262144}") long maxKb) {
+        this.metrikServisi = metrikServisi;
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.compactionMinBytes = compactionMinKb * 1024;
+        this.maxBytes = Math.min(maxKb * 1024, Integer.MAX_VALUE);
+        metrikServisi.gostergeEkle("ai.cache.disk.size", index::size);
+        metrikServisi.gostergeEkle("ai.cache.disk.bytes", this::fileSize);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        Thread loader = new Thread(this::load, "ai-disk-cache-load");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException ex) {
+            logger.warn("AI disk cache close failed", ex);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Kayıt varsa süresi dolmuş olsa da döner; süre kontrolü çağırana bırakılır
+    public Entry get(String key) {
+        Slot slot = index.get(key);
+        if (!ready || slot == null || !lock.readLock().tryLock()) {
+            return null;
+        }
+        try {
+            if (index.get(key) != slot) {
+                return null;
+            }
+            long end = slot.offset + HEADER_BYTES + slot.length;
+            if (end > mapped.capacity()) {
+                remap();
+            }
+            byte[] value = new byte[slot.length];
+            mapped.slice((int) slot.offset + HEADER_BYTES, slot.length).get(value);
+            return new Entry(new String(value, StandardCharsets.UTF_8), slot.expiresAt);
+        } catch (IOException ex) {
+            logger.warn("AI disk cache read failed", ex);
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(String key, String value, long expiresAt) {
+        if (!ready || !lock.readLock().tryLock()) {
+            return;
+        }
+        try {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer record = encode(HexFormat.of().parseHex(key), expiresAt, bytes);
+            synchronized (this) {
+                long offset = channel.size();
+                if (offset + record.remaining() > maxBytes) {
+                    metrikServisi.artir("ai.cache.disk.full");
+                    return;
+                }
+                while (record.hasRemaining()) {
+                    channel.write(record, offset + record.position());
+                }
+                index.put(key, new Slot(offset, bytes.length, expiresAt));
+            }
+        } catch (IOException ex) {
+            logger.warn("AI disk cache write failed", ex);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ölü bayt sayısı alt sınırı ve canlı veriyi (log boyut sınırındaysa yalnızca alt sınırı) geçince
+    // yalnızca canlı, süresi dolmamış kayıtlarla yeni bir log yazar
+    @Scheduled(fixedDelayString = "${ai.cache.disk.sikistirma-ms:600000}",
+            initialDelayString = "${ai.cache.disk.sikistirma-ms:600000}")
+    public void compact() {
+        if (!ready) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long size = fileSize();
+        long live = 0;
+        for (Slot slot : index.values()) {
+            if (slot.expiresAt > now) {
+                live += HEADER_BYTES + slot.length;
+            }
+        }
+        long dead = size - live;
+        boolean full = size + compactionMinBytes >= maxBytes;
+        if (dead < compactionMinBytes || dead < live && !full) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Path target = directory.resolve(LOG_FILE);
+            Path temp = directory.resolve(LOG_FILE + ".tmp");
+            remap();
+            Map<String, Slot> compacted = new HashMap<>();
+            long written = 0;
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                long position = 0;
+                for (Map.Entry<String, Slot> entry : index.entrySet()) {
+                    Slot slot = entry.getValue();
+                    if (slot.expiresAt <= now) {
+                        continue;
+                    }
+                    int recordLength = HEADER_BYTES + slot.length;
+                    ByteBuffer record = mapped.slice((int) slot.offset, recordLength);
+                    while (record.hasRemaining()) {
+                        out.write(record, position + record.position());
+                    }
+                    compacted.put(entry.getKey(), new Slot(position, slot.length, slot.expiresAt));
+                    position += recordLength;
+                    written += recordLength;
+                }
+                out.force(true);
+            }
+            channel.close();
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = FileChannel.open(target, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            index.clear();
+            index.putAll(compacted);
+            metrikServisi.artir("ai.cache.disk.compaction");
+            logger.info("AI disk cache compacted: {} -> {} bytes, {} entries", size, written, compacted.size());
+        } catch (IOException ex) {
+            // Eski kanal kapanmış olabilir; tutarsız dizinle devam etmektense disk katmanı kapatılır
+            logger.warn("AI disk cache compaction failed, disabling disk cache", ex);
+            ready = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void load() {
+        lock.writeLock().lock();
+        try {
+            Files.createDirectories(directory);
+            channel = FileChannel.open(directory.resolve(LOG_FILE), StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            // Sınırı aşan eski bir log yalnızca sınıra kadar okunur; kalanı yarım kayıt gibi kesilir
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), maxBytes));
+            long valid = scan();
+            if (valid < channel.size()) {
+                logger.warn("AI disk cache: discarding {} trailing bytes", channel.size() - valid);
+                channel.truncate(valid);
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, valid);
+            }
+            ready = true;
+            logger.info("AI disk cache loaded: {} entries", index.size());
+        } catch (IOException ex) {
+            logger.warn("AI disk cache unavailable: {}", directory.toAbsolutePath(), ex);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Log'u baştan sona okuyup dizini kurar; ilk bozuk/yarım kaydın konumunu döner
+    private long scan() {
+        CRC32 crc = new CRC32();
+        byte[] key = new byte[KEY_BYTES];
+        long position = 0;
+        int capacity = mapped.capacity();
+        while (capacity - position >= HEADER_BYTES) {
+            ByteBuffer header = mapped.slice((int) position, HEADER_BYTES);
+            int expected = header.getInt();
+            header.get(key);
+            long expiresAt = header.getLong();
+            int length = header.getInt();
+            if (length < 0 || length > capacity - position - HEADER_BYTES) {
+                break;
+            }
+            crc.reset();
+            crc.update(mapped.slice((int) position + 4, HEADER_BYTES - 4 + length));
+            if ((int) crc.getValue() != expected) {
+                break;
+            }
+            index.put(HexFormat.of().formatHex(key), new Slot(position, length, expiresAt));
+            position += HEADER_BYTES + length;
+        }
+        return position;
+    }
+
+    private static ByteBuffer encode(byte[] key, long expiresAt, byte[] value) {
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + value.length);
+        record.position(4);
+        record.put(key).putLong(expiresAt).putInt(value.length).put(value);
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 4, record.capacity() - 4);
+        record.putInt(0, (int) crc.getValue());
+        record.flip();
+        return record;
+    }
+
+    private synchronized void remap() throws IOException {
+        if (mapped.capacity() < channel.size()) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private long fileSize() {
+        MappedByteBuffer current = mapped;
+        try {
+            return ready ? channel.size() : current == null ? 0 : current.capacity();
+        } catch (IOException ex) {
+            return 0;
+        }
+    }
+
+    public static class Entry {
+        private final String value;
+        private final long expiresAt;
+
+        private Entry(String value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public long getExpiresAt() {
+            return expiresAt;
+        }
+    }
+
+    private static class Slot {
+        private final long offset;
+        private final int length;
+        private final long expiresAt;
+
+        private Slot(long offset, int length, long expiresAt) {
+            this.offset = offset;
+            this.length = length;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
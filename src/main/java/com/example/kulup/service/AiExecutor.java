@@ -0,0 +1,90 @@
+package com.example.kulup.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// /ai/** işlerini servlet thread'lerinden ayrı, sınırlı bir havuzda çalıştırır.
+// Eşzamanlı bekleyen çağrı sınırı dolunca iş hemen reddedilir; süre aşılınca çağıran TimeoutException alır
+// ve çalışan thread kesilerek upstream HTTP çağrısı iptal edilir.
+@Service
+public class AiExecutor {
+
+    private final MetrikServisi metrikServisi;
+    private final ThreadPoolExecutor executor;
+    private final Semaphore outstanding;
+    private final long deadlineMs;
+
+    public AiExecutor(MetrikServisi metrikServisi,
+                      @Value("${ai.async.max-outstanding:16}") int maxOutstanding,
+                      @Value("${ai.async.deadline-ms:15000}") long deadlineMs) {
+        this.metrikServisi = metrikServisi;
+        this.outstanding = new Semaphore(maxOutstanding);
+        this.deadlineMs = deadlineMs;
+        AtomicInteger counter = new AtomicInteger();
+        // Semafor zaten sınırı koyduğu için kuyruk yok; havuz en fazla maxOutstanding thread'e çıkar
+        this.executor = new ThreadPoolExecutor(0, maxOutstanding, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                r -> {
+                    Thread t = new Thread(r, "ai-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        metrikServisi.gostergeEkle("ai.async.outstanding", () -> maxOutstanding - outstanding.availablePermits());
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return submit(task, deadlineMs);
+    }
+
+    // Dönen future iptal edilirse (örn. istemci bağlantıyı kapattı) çalışan thread de kesilir
+    public <T> CompletableFuture<T> submit(Supplier<T> task, long deadlineMs) {
+        if (!outstanding.tryAcquire()) {
+            metrikServisi.artir("ai.async.rejected");
+            return CompletableFuture.failedFuture(new RejectedExecutionException("AI çağrı sınırı dolu"));
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> running;
+        try {
+            running = executor.submit(() -> {
+                try {
+                    result.complete(task.get());
+                } catch (Throwable ex) {
+                    result.completeExceptionally(ex);
+                } finally {
+                    outstanding.release();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            outstanding.release();
+            metrikServisi.artir("ai.async.rejected");
+            return CompletableFuture.failedFuture(ex);
+        }
+        result.orTimeout(deadlineMs, TimeUnit.MILLISECONDS).whenComplete((value, ex) -> {
+            if (ex instanceof TimeoutException) {
+                metrikServisi.artir("ai.async.timeout");
+                running.cancel(true);
+            } else if (ex instanceof CancellationException) {
+                running.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
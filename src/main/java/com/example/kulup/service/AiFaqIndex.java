@@ -0,0 +1,177 @@
+package com.example.kulup.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Asistanın sık sorulan sorularını Gemini'ye gitmeden yanıtlayan bellek içi TF-IDF indeksi.
+// classpath:ai-sss/*.txt dosyalarının ilk paragrafı soru varyantları (satır başına bir), boş satırdan sonrası yanıttır.
+// Her soru varyantı ayrı bir dokümandır; sorgu ile kosinüs benzerliği eşiği geçen en iyi varyantın yanıtı döner.
+@Service
+public class AiFaqIndex {
+
+    private static final String KONUM = "classpath:ai-sss/*.txt";
+    private static final Locale TR = Locale.forLanguageTag("tr");
+    // Türkçe ekler yüzünden kelimeler ilk STEM_LENGTH harflerine indirgenir ("kulübe", "kulüpten" -> "kulup")
+    static final int STEM_LENGTH = 5;
+    static final Set<String> STOP_WORDS = Set.of(
+            "ve", "ile", "bir", "bu", "su", "mi", "mu", "ne", "nasil", "nerede", "nereden", "neden", "icin", "ben", "benim",
+            "ya", "da", "de", "ki", "var", "nedir", "hangi", "olarak", "olur", "yapilir", "yaparim", "istiyorum", "miyim", "misin");
+
+    private final MetrikServisi metrikServisi;
+    private final double threshold;
+
+    private final List<String> answers = new ArrayList<>();
+    // terim -> (doküman, tf-idf ağırlığı) listesi
+    private final Map<String, List<Posting>> postings = new HashMap<>();
+    private final List<Integer> documentAnswer = new ArrayList<>();
+    private final List<Double> documentNorm = new ArrayList<>();
+    private final Map<String, Double> idf = new HashMap<>();
+
+    public AiFaqIndex(MetrikServisi metrikServisi, @Value("${ai.faq.esik:0.55}") double threshold) {
+        this.metrikServisi = metrikServisi;
+        this.threshold = threshold;
+    }
+
+    @PostConstruct
+    public void load() throws IOException {
+        List<Map<String, Integer>> documents = new ArrayList<>();
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(KONUM)) {
+            String content = resource.getContentAsString(StandardCharsets.UTF_8).replace("\r\n", "\n");
+            int separator = content.indexOf("\n\n");
+            if (separator < 0) {
+                throw new IllegalStateException("SSS dosyasında soru/yanıt ayrımı yok: " + resource.getFilename());
+            }
+            int answer = answers.size();
+            answers.add(content.substring(separator + 2).trim());
+            for (String question : content.substring(0, separator).split("\n")) {
+                if (!question.isBlank()) {
+                    documents.add(termFrequencies(question));
+                    documentAnswer.add(answer);
+                }
+            }
+        }
+
+        Map<String, Integer> documentFrequency = new HashMap<>();
+        for (Map<String, Integer> terms : documents) {
+            terms.keySet().forEach(term -> documentFrequency.merge(term, 1, Integer::sum));
+        }
+        documentFrequency.forEach((term, df) -> idf.put(term, Math.log(1.0 + (double) documents.size() / df)));
+
+        for (int doc = 0; doc < documents.size(); doc++) {
+            double norm = 0;
+            for (Map.Entry<String, Integer> term : documents.get(doc).entrySet()) {
+                double weight = term.getValue() * idf.get(term.getKey());
+                postings.computeIfAbsent(term.getKey(), k -> new ArrayList<>()).add(new Posting(doc, weight));
+                norm += weight * weight;
+            }
+            documentNorm.add(Math.sqrt(norm));
+        }
+    }
+
+    // Eşiği geçen bir SSS yanıtı varsa döner, yoksa null; isabet oranı ve süre metriklere yazılır
+    public String answer(String question) {
+        long start = System.nanoTime();
+        String result = search(question);
+        metrikServisi.ekle("ai.faq.sure-us", (System.nanoTime() - start) / 1000);
+        metrikServisi.artir(result == null ? "ai.faq.miss" : "ai.faq.hit");
+        return result;
+    }
+
+    private String search(String question) {
+        Map<String, Integer> query = termFrequencies(question);
+        if (query.isEmpty()) {
+            return null;
+        }
+        Map<Integer, Double> dot = new HashMap<>();
+        double queryNorm = 0;
+        for (Map.Entry<String, Integer> term : query.entrySet()) {
+            Double termIdf = idf.get(term.getKey());
+            if (termIdf == null) {
+                continue;
+            }
+            double weight = term.getValue() * termIdf;
+            queryNorm += weight * weight;
+            for (Posting posting : postings.get(term.getKey())) {
+                dot.merge(posting.document, weight * posting.weight, Double::sum);
+            }
+        }
+        if (dot.isEmpty()) {
+            return null;
+        }
+        // Bilinmeyen terimler de sorgunun normuna katılır; indekste olmayan konulardaki sorular eşiğin altında kalır
+        for (Map.Entry<String, Integer> term : query.entrySet()) {
+            if (!idf.containsKey(term.getKey())) {
+                double weight = term.getValue() * Math.log(1.0 + documentNorm.size());
+                queryNorm += weight * weight;
+            }
+        }
+        queryNorm = Math.sqrt(queryNorm);
+
+        int best = -1;
+        double bestScore = 0;
+        for (Map.Entry<Integer, Double> entry : dot.entrySet()) {
+            double score = entry.getValue() / (queryNorm * documentNorm.get(entry.getKey()));
+            if (score > bestScore) {
+                bestScore = score;
+                best = entry.getKey();
+            }
+        }
+        return bestScore >= threshold ? answers.get(documentAnswer.get(best)) : null;
+    }
+
+    private static Map<String, Integer> termFrequencies(String text) {
+        Map<String, Integer> terms = new HashMap<>();
+        for (String token : fold(text).split("[^a-z0-9]+")) {
+            if (token.length() < 2 || STOP_WORDS.contains(token)) {
+                continue;
+            }
+            String stem = token.length() > STEM_LENGTH ? token.substring(0, STEM_LENGTH) : token;
+            terms.merge(stem, 1, Integer::sum);
+        }
+        return terms;
+    }
+
+    // Küçük harf ve Türkçe karakterlerin ASCII karşılıkları; "Üyeliğim" ve "uyeligim" aynı terime düşer
+    static String fold(String text) {
+        String lower = text.toLowerCase(TR);
+        StringBuilder sb = new StringBuilder(lower.length());
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            switch (c) {
+                case 'ı' -> sb.append('i');
+                case 'ğ' -> sb.append('g');
+                case 'ü' -> sb.append('u');
+                case 'ş' -> sb.append('s');
+                case 'ö' -> sb.append('o');
+                case 'ç' -> sb.append('c');
+                case 'â' -> sb.append('a');
+                case 'î' -> sb.append('i');
+                case 'û' -> sb.append('u');
+                default -> sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static class Posting {
+        private final int document;
+        private final double weight;
+
+        private Posting(int document, double weight) {
+            this.document = document;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.kulup.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// AI yanıtları için boyut (LRU) ve süre (TTL) sınırlı bellek içi önbellek.
+// Anahtar, normalize edilmiş prompt'un SHA-256 özetidir; büyük/küçük harf ve boşluk farkları aynı kayda düşer.
+// Süresi dolan kayıtlar LRU ile çıkarılana kadar tutulur; Gemini devresi açıkken getStale ile yine sunulabilir.
+// Bellekte olmayan anahtarlar AiDiskCache'e sorulur; bulunanlar belleğe alınır, yeni yanıtlar her iki katmana yazılır.
+@Service
+public class AiResponseCache {
+
+    private final MetrikServisi metrikServisi;
+    private final AiDiskCache diskCache;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LinkedHashMap<String, Entry> entries;
+
+    public AiResponseCache(MetrikServisi metrikServisi,
+                           AiDiskCache diskCache,
+                           @Value("${ai.cache.max-size:1000}") int maxSize,
+                           @Value("${ai.cache.ttl-dk:1440}") long ttlMinutes) {
+        this.metrikServisi = metrikServisi;
+        this.diskCache = diskCache;
+        this.maxSize = maxSize;
+        this.ttlMillis = Duration.ofMinutes(ttlMinutes).toMillis();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > AiResponseCache.this.maxSize) {
+                    metrikServisi.artir("ai.cache.eviction");
+                    return true;
+                }
+                return false;
+            }
+        };
+        metrikServisi.gostergeEkle("ai.cache.size", this::size);
+    }
+
+    public String get(String key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+                metrikServisi.artir("ai.cache.hit");
+                return entry.value;
+            }
+            if (entry != null) {
+                metrikServisi.artir("ai.cache.miss");
+                return null;
+            }
+        }
+        AiDiskCache.Entry stored = diskCache.get(key);
+        if (stored != null && stored.getExpiresAt() > System.currentTimeMillis()) {
+            synchronized (entries) {
+                entries.putIfAbsent(key, new Entry(stored.getValue(), stored.getExpiresAt()));
+            }
+            metrikServisi.artir("ai.cache.disk.hit");
+            return stored.getValue();
+        }
+        metrikServisi.artir("ai.cache.miss");
+        return null;
+    }
+
+    // Süresi dolmuş olsa da kayıtlı yanıtı döner; yalnızca yeni yanıt üretilemediğinde kullanılır
+    public String getStale(String key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                return entry.value;
+            }
+        }
+        AiDiskCache.Entry stored = diskCache.get(key);
+        return stored == null ? null : stored.getValue();
+    }
+
+    public void put(String key, String value) {
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        synchronized (entries) {
+            entries.put(key, new Entry(value, expiresAt));
+        }
+        diskCache.put(key, value, expiresAt);
+    }
+
+    public long size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public static String key(String prompt) {
+        String normalized = prompt.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(normalized.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static class Entry {
+        private final String value;
+        private final long expiresAt;
+
+        private Entry(String value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.kulup.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+// Asistan soruları için yakın-tekrar önbelleği. Eşleşen: aynı içerik kelimelerinin farklı çekimleri, sırası ve
+// dolgu kelimeleri ("aidatımı nasıl öderim" / "aidat nasıl ödenir"), SYNONYMS'teki eş anlamlılar
+// ("nasıl üye olurum" / "kulübe nasıl katılırım"). Eşleşmeyen: başka kelimelerle sorulmuş aynı soru ve bir içerik
+// kelimesi eklenmiş, çıkarılmış ya da değiştirilmiş soru ("Satranç kulübünün etkinlikleri" / "Müzik kulübünün
+// etkinlikleri", "aidat ne kadar" / "Satranç kulübünün aidatı ne kadar") ve olumsuz soru ("aidat ödenir mi" /
+// "aidat ödenmez mi"); yanlış yanıt kaçırılan isabetten pahalıdır.
+// Her içerik kelimesi kökü (ilk ROOT_LENGTH harf) ve gövdesi (AiFaqIndex.STEM_LENGTH) olarak DIMENSIONS boyutlu,
+// birim uzunlukta hash vektörüne yazılır. Kök kümesi aynı olan kayıtlar arasından en yakını doğrusal taramayla
+// bulunur ve kosinüs benzerliği eşiği geçerse yanıtı döner. Kayıt sayısı LRU ile, ömrü TTL ile sınırlıdır.
+@Service
+public class AiSemanticCache {
+
+    private static final int DIMENSIONS = 512;
+    private static final int ROOT_LENGTH = 3;
+    // Kök, gövdeden ağır basar: aynı kökün farklı çekimleri ("kurulur" / "kurabilirim") yakın kalır
+    private static final float ROOT_WEIGHT = 2;
+    private static final float STEM_WEIGHT = 1;
+    // Soruyu ayırt etmeyen kelimelerin gövdeleri (SSS dolgu kelimelerine ek olarak); "olmak"/"yapılmak" her çekimiyle atılır
+    private static final Set<String> FILLER_STEMS = Set.of(
+            "acaba", "lutfe", "bana", "beni", "ol", "oluru", "olabi", "olunu", "olmak", "olmal", "oluyo", "yapil");
+    private static final String CLUB_STEM = "kulu";
+    // Gövde -> kavram; kulübe katılmanın farklı söylenişleri
+    private static final Map<String, String> SYNONYMS = Map.of(
+            "katil", "uye", "kaydo", "uye", "kayit", "uye", "uyeli", "uye");
+    // Gövdeye kesilince kaybolan olumsuzluk ekleri (katılmamak, ödenmez, silemez, katılmıyor, ödemedim, ...).
+    // Yalın -me/-ma, isim yapan ekle ("ödeme") aynı olduğu için aranmaz; yanlış tespit en fazla isabet kaçırır
+    private static final Pattern NEGATIVE_VERB = Pattern.compile(
+            "^.{2,}?(m[ae]m[ae]k|m[ae]m[ae]l|m[ae]m[iu]s|m[ae]d[iu]|m[iu]yor|m[ae]y[ae]c|m[ae]y[iu]n|m[ae]s[iu]n|m[ae]z)");
+    // Olumsuz sorulara eklenen terim; kök kümesine de girdiği için olumlu soruyla hiçbir zaman eşleşmez
+    private static final String NEGATION = "!degil";
+
+    private final MetrikServisi metrikServisi;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final double threshold;
+    private final LinkedHashMap<String, Entry> entries;
+
+    public AiSemanticCache(MetrikServisi metrikServisi,
+                           @Value("${ai.semantic.max-size:500}") int maxSize,
+                           @Value("${ai.semantic.ttl-dk:1440}") long ttlMinutes,
+                           @Value("${ai.semantic.esik:0.78}") double threshold) {
+        this.metrikServisi = metrikServisi;
+        this.maxSize = maxSize;
+        this.ttlMillis = Duration.ofMinutes(ttlMinutes).toMillis();
+        this.threshold = threshold;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > AiSemanticCache.this.maxSize) {
+                    metrikServisi.artir("ai.semantic.eviction");
+                    return true;
+                }
+                return false;
+            }
+        };
+        metrikServisi.gostergeEkle("ai.semantic.size", this::size);
+    }
+
+    public String get(String question) {
+        List<String> terms = terms(question);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        float[] vector = vectorize(terms);
+        Set<String> roots = roots(terms);
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            String bestKey = null;
+            double bestScore = threshold;
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                if (entry.getValue().expiresAt <= now || !roots.equals(entry.getValue().roots)) {
+                    continue;
+                }
+                double score = dot(vector, entry.getValue().vector);
+                if (score >= bestScore) {
+                    bestScore = score;
+                    bestKey = entry.getKey();
+                }
+            }
+            if (bestKey != null) {
+                metrikServisi.artir("ai.semantic.hit");
+                // LRU sırasını güncellemek için erişim
+                return entries.get(bestKey).answer;
+            }
+        }
+        metrikServisi.artir("ai.semantic.miss");
+        return null;
+    }
+
+    public void put(String question, String answer) {
+        List<String> terms = terms(question);
+        if (terms.isEmpty()) {
+            return;
+        }
+        Entry entry = new Entry(vectorize(terms), roots(terms), answer, System.currentTimeMillis() + ttlMillis);
+        synchronized (entries) {
+            entries.put(String.join(" ", terms), entry);
+        }
+    }
+
+    public long size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    // İçerik kelimelerinin gövdeleri; dolgu kelimeleri ve "kulüp" atılır, eş anlamlılar kavrama çevrilir.
+    // Soru olumsuzsa sona NEGATION eklenir
+    private static List<String> terms(String question) {
+        List<String> terms = new ArrayList<>();
+        boolean negated = false;
+        for (String token : AiFaqIndex.fold(question).split("[^a-z0-9]+")) {
+            if (token.startsWith("degil")) {
+                negated = true;
+                continue;
+            }
+            negated |= NEGATIVE_VERB.matcher(token).find();
+            if (token.length() < 2 || AiFaqIndex.STOP_WORDS.contains(token)) {
+                continue;
+            }
+            String stem = token.length() > AiFaqIndex.STEM_LENGTH ? token.substring(0, AiFaqIndex.STEM_LENGTH) : token;
+            if (FILLER_STEMS.contains(stem) || stem.startsWith(CLUB_STEM)) {
+                continue;
+            }
+            terms.add(SYNONYMS.getOrDefault(stem, stem));
+        }
+        if (negated && !terms.isEmpty()) {
+            terms.add(NEGATION);
+        }
+        return terms;
+    }
+
+    private static String root(String stem) {
+        return stem.length() > ROOT_LENGTH ? stem.substring(0, ROOT_LENGTH) : stem;
+    }
+
+    private static Set<String> roots(List<String> terms) {
+        Set<String> roots = new HashSet<>();
+        terms.forEach(term -> roots.add(root(term)));
+        return roots;
+    }
+
+    // Kök ve gövde işaretli hash ile boyutlara dağıtılır
+    private static float[] vectorize(List<String> terms) {
+        float[] vector = new float[DIMENSIONS];
+        CRC32 crc = new CRC32();
+        for (String term : terms) {
+            add(vector, crc, "r:" + root(term), ROOT_WEIGHT);
+            add(vector, crc, "s:" + term, STEM_WEIGHT);
+        }
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        if (norm > 0) {
+            float scale = (float) (1 / Math.sqrt(norm));
+            for (int i = 0; i < DIMENSIONS; i++) {
+                vector[i] *= scale;
+            }
+        }
+        return vector;
+    }
+
+    private static void add(float[] vector, CRC32 crc, String feature, float weight) {
+        byte[] bytes = feature.getBytes(StandardCharsets.US_ASCII);
+        crc.reset();
+        crc.update(bytes, 0, bytes.length);
+        long hash = crc.getValue();
+        vector[(int) (hash % DIMENSIONS)] += (hash & 0x80000000L) == 0 ? weight : -weight;
+    }
+
+    private static double dot(float[] a, float[] b) {
+        double sum = 0;
+        for (int i = 0; i < DIMENSIONS; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    private static class Entry {
+        private final float[] vector;
+        private final Set<String> roots;
+        private final String answer;
+        private final long expiresAt;
+
+        private Entry(float[] vector, Set<String> roots, String answer, long expiresAt) {
+            this.vector = vector;
+            this.roots = roots;
+            this.answer = answer;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
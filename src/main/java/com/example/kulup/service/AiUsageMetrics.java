@@ -0,0 +1,110 @@
+package com.example.kulup.service;
+
+import com.example.kulup.dto.AiResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// AI uçlarının kullanım metrikleri: uç başına gecikme, yanıt kaynağı (faq/semantic/cache/gemini/stale),
+// Gemini deneme sayısı ve usageMetadata token sayıları. Model başına gecikme ve tokenlar GeminiService'te yazılır.
+// report() bu sayaçlardan önbellek isabet oranlarını ve token fiyatlarıyla tahmini maliyeti hesaplar.
+@Service
+public class AiUsageMetrics {
+
+    private static final String PREFIX = "ai.endpoint.";
+    private static final String PROMPT_TOKENS = ".token.girdi";
+    private static final String RESPONSE_TOKENS = ".token.cikti";
+
+    private final MetrikServisi metrikServisi;
+    private final double promptPricePerMillion;
+    private final double responsePricePerMillion;
+
+    public AiUsageMetrics(MetrikServisi metrikServisi,
+                          @Value("${ai.maliyet.girdi-usd-1m:0.075}") double promptPricePerMillion,
+                          @Value("${ai.maliyet.cikti-usd-1m:0.30}") double responsePricePerMillion) {
+        this.metrikServisi = metrikServisi;
+        this.promptPricePerMillion = promptPricePerMillion;
+        this.responsePricePerMillion = responsePricePerMillion;
+    }
+
+    // Uca gelen isteğin toplam süresi; hata (süre aşımı, ret) ayrıca sayılır
+    public void request(String endpoint, long startNanos, boolean failed) {
+        metrikServisi.sureKaydet(PREFIX + endpoint + ".sure", (System.nanoTime() - startNanos) / 1_000_000);
+        metrikServisi.artir(PREFIX + endpoint + ".istek");
+        if (failed) {
+            metrikServisi.artir(PREFIX + endpoint + ".hata");
+        }
+    }
+
+    public void source(String endpoint, String source) {
+        metrikServisi.artir(PREFIX + endpoint + ".kaynak." + source);
+    }
+
+    // Upstream'e giden bir üretimin sonucu; single-flight'ta yalnızca çağrıyı başlatan istek için yazılır
+    public void generated(String endpoint, AiResult result) {
+        source(endpoint, "gemini");
+        if (result.getAttempts() > 0) {
+            metrikServisi.degerKaydet(PREFIX + endpoint + ".deneme", result.getAttempts());
+        }
+        if (result.isSuccess()) {
+            metrikServisi.ekle(PREFIX + endpoint + PROMPT_TOKENS, result.getPromptTokens());
+            metrikServisi.ekle(PREFIX + endpoint + RESPONSE_TOKENS, result.getResponseTokens());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> report() {
+        Map<String, Object> report = metrikServisi.ozet("ai.");
+        Map<String, Object> counters = new TreeMap<>((Map<String, Object>) report.get("sayaclar"));
+        metrikServisi.ozet("http.gemini.").forEach((group, values) ->
+                ((Map<String, Object>) report.get(group)).putAll((Map<String, Object>) values));
+
+        Map<String, Object> ratios = new LinkedHashMap<>();
+        // Yanıt önbelleğinde bellek ve disk isabetleri ayrı sayılır; ikisi birlikte toplam isabettir
+        long cacheHits = value(counters, "ai.cache.hit") + value(counters, "ai.cache.disk.hit");
+        ratios.put("ai.cache", ratio(cacheHits, value(counters, "ai.cache.miss")));
+        ratios.put("ai.cache.disk", ratio(value(counters, "ai.cache.disk.hit"), value(counters, "ai.cache.miss")));
+        ratios.put("ai.faq", ratio(counters, "ai.faq.hit", "ai.faq.miss"));
+        ratios.put("ai.semantic", ratio(counters, "ai.semantic.hit", "ai.semantic.miss"));
+
+        Map<String, Object> cost = new TreeMap<>();
+        double total = 0;
+        for (Map.Entry<String, Object> counter : counters.entrySet()) {
+            String name = counter.getKey();
+            if (!name.endsWith(PROMPT_TOKENS)) {
+                continue;
+            }
+            String owner = name.substring(0, name.length() - PROMPT_TOKENS.length());
+            long responseTokens = value(counters, owner + RESPONSE_TOKENS);
+            double usd = ((Long) counter.getValue() * promptPricePerMillion
+                    + responseTokens * responsePricePerMillion) / 1_000_000;
+            cost.put(owner, usd);
+            if (owner.startsWith("ai.model.")) {
+                total += usd;
+            }
+        }
+        cost.put("toplam", total);
+
+        report.put("isabetOranlari", ratios);
+        report.put("tahminiMaliyetUsd", cost);
+        return report;
+    }
+
+    // Hiç istek yoksa null; aksi halde 0..1 arası isabet oranı
+    private static Double ratio(Map<String, Object> counters, String hit, String miss) {
+        return ratio(value(counters, hit), value(counters, miss));
+    }
+
+    private static Double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? null : (double) hits / total;
+    }
+
+    private static long value(Map<String, Object> counters, String name) {
+        Object value = counters.get(name);
+        return value == null ? 0 : (Long) value;
+    }
+}
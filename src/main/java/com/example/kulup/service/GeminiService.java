@@ -0,0 +1,788 @@
+package com.example.kulup.service;
+
+import com.example.kulup.dto.AiResult;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Gemini generateContent çağrıları ve çalışan version:model çiftinin çözümü.
+// İlk başarılı çift paylaşılan bir çözücüde tutulur; sonraki istekler doğrudan ona tek çağrı yapar.
+// 404 veren çiftler bir süre denenmez, çözüm TTL dolunca model kataloğuyla arka planda yeniden doğrulanır.
+// Model kataloğu sürüm başına değişmez bir anlık görüntü olarak tutulur ve zamanlanmış görevle yenilenir;
+// okuyanlar hiçbir zaman canlı katalog çağrısı beklemez (eskiyse arka planda yenilenirken eski liste döner).
+// Tüm çağrılar AiCircuitBreaker'dan geçer; devre açıkken upstream'e gidilmeden hemen "unavailable" döner.
+// Model başına gecikme ve usageMetadata token sayıları, istek başına deneme sayısı MetrikServisi'ne yazılır.
+@Service
+public class GeminiService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeminiService.class);
+    private static final String HEDEF = "gemini";
+    private static final String UNAVAILABLE_MESSAGE = "AI servisi su an yanit vermiyor. Biraz sonra tekrar deneyin.";
+    private static final List<String> MODEL_FALLBACKS = List.of(
+            "gemini-1.5-flash-latest",
+            "gemini-1.5-flash",
+            "gemini-1.5-flash-8b",
+            "gemini-1.5-pro-latest",
+            "gemini-1.5-pro",
+            "gemini-1.0-pro",
+            "gemini-pro"
+    );
+
+    private final ObjectMapper objectMapper;
+    private final OutboundHttpClient outboundHttpClient;
+    private final AiCircuitBreaker circuitBreaker;
+    private final MetrikServisi metrikServisi;
+    private final String apiKey;
+    private final String apiVersion;
+    private final String apiModel;
+    private final Duration resolvedTtl;
+    private final Duration notFoundTtl;
+    private final Duration catalogueTtl;
+
+    private volatile ResolvedModel active;
+    // "version:model" -> bu zamana kadar denenmez
+    private final Map<String, Instant> notFound = new ConcurrentHashMap<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    // version -> son başarılı katalog; yenileme başarısız olursa eskisi kullanılmaya devam eder
+    private final Map<String, Catalogue> catalogue = new ConcurrentHashMap<>();
+    private final Set<String> catalogueLoading = ConcurrentHashMap.newKeySet();
+
+    public GeminiService(ObjectMapper objectMapper,
+                         OutboundHttpClient outboundHttpClient,
+                         AiCircuitBreaker circuitBreaker,
+                         MetrikServisi metrikServisi,
+                         @Value("${gemini.api.key:}") String apiKey,
+                         @Value("${gemini.api.version:v1beta}") String apiVersion,
+                         @Value("${gemini.api.model:gemini-1.5-flash-latest}") String apiModel,
+                         @Value("${gemini.model.ttl-dk:30}") long resolvedTtlMinutes,
+                         @Value("${gemini.model.negatif-ttl-dk:60}") long notFoundTtlMinutes,
+                         @Value("${gemini.katalog.yenileme-ms:900000}") long catalogueRefreshMs) {
+        this.objectMapper = objectMapper;
+        this.outboundHttpClient = outboundHttpClient;
+        this.circuitBreaker = circuitBreaker;
+        this.metrikServisi = metrikServisi;
+        this.apiKey = apiKey;
+        this.apiVersion = apiVersion;
+        this.apiModel = apiModel;
+        this.resolvedTtl = Duration.ofMinutes(resolvedTtlMinutes);
+        this.notFoundTtl = Duration.ofMinutes(notFoundTtlMinutes);
+        this.catalogueTtl = Duration.ofMillis(catalogueRefreshMs);
+    }
+
+    // /ai/club-description ve toplu açıklama işi aynı prompt'u kullanır; böylece yanıtlar aynı önbellek kaydını paylaşır
+    public static String clubDescriptionPrompt(String clubName) {
+        return "Kulup adi: " + clubName + ". "
+                + "2-3 cumlelik kisa ve net bir kulup aciklamasi yaz. "
+                + "Sadece aciklama metnini ver.";
+    }
+
+    public boolean isConfigured() {
+        return apiKey != null && !apiKey.isBlank();
+    }
+
+    // Dönen sonuç, model çözümü sırasındaki 404/boş denemeler dahil kaç upstream çağrısı yapıldığını taşır
+    public AiResult generateText(String prompt) {
+        AtomicInteger attempts = new AtomicInteger();
+        AiResult result = generate(prompt, attempts);
+        int count = attempts.get();
+        if (count > 0) {
+            metrikServisi.degerKaydet("ai.generate.deneme", count);
+            if (count > 1) {
+                metrikServisi.ekle("ai.generate.fallback", count - 1);
+            }
+        }
+        return result.withAttempts(count);
+    }
+
+    private AiResult generate(String prompt, AtomicInteger attempts) {
+        if (!isConfigured()) {
+            return AiResult.error("AI ayari yapilmamis. Yoneticiye bildirin.");
+        }
+
+        String json;
+        try {
+            json = requestJson(prompt);
+        } catch (Exception ex) {
+            return AiResult.error("AI istegi hazirlanamadi.");
+        }
+
+        ResolvedModel current = active;
+        if (current != null) {
+            if (current.isExpired(resolvedTtl)) {
+                refreshAsync();
+            }
+            GenerateCall call = callGenerate(current.version, current.model, json, attempts);
+            if (call.unavailable()) {
+                return AiResult.unavailable(UNAVAILABLE_MESSAGE);
+            }
+            if (!call.notFound()) {
+                return call.toResult(current.key());
+            }
+            markNotFound(current.key());
+        }
+        return resolve(json, attempts);
+    }
+
+    // streamGenerateContent (SSE) ile parça parça üretir; her metin parçası listener'a iletilir.
+    // Henüz çözülmüş model yoksa normal üretime düşer ve yanıt tek parça olarak gider.
+    // listener IOException fırlatırsa (istemci koptu) upstream akış kapatılır.
+    // handle.cancel() yanıt gövdesini kapatır; bekleyen okuma kesmeye (interrupt) gerek kalmadan hemen biter
+    public AiResult streamText(String prompt, StreamHandle handle, ChunkListener listener) throws IOException {
+        ResolvedModel current = active;
+        if (!isConfigured() || current == null) {
+            AiResult result = generateText(prompt);
+            if (result.isSuccess()) {
+                listener.onChunk(result.getText());
+            }
+            return result;
+        }
+
+        if (!circuitBreaker.allowRequest()) {
+            return AiResult.unavailable(UNAVAILABLE_MESSAGE);
+        }
+        // İzin başına devre kesiciye tam bir sonuç bildirilir; bildirilmeden çıkılırsa (dinleyici hatası,
+        // beklenmeyen istisna) finally'de yok sayılır, böylece yarı açıktaki deneme hakkı asılı kalmaz
+        BreakerPermit permit = new BreakerPermit(circuitBreaker);
+        try {
+            return stream(prompt, current, handle, listener, permit);
+        } finally {
+            permit.ignored();
+        }
+    }
+
+    private AiResult stream(String prompt, ResolvedModel current, StreamHandle handle, ChunkListener listener,
+                            BreakerPermit permit) throws IOException {
+        long start = System.nanoTime();
+        HttpRequest.Builder request = HttpRequest.newBuilder(outboundHttpClient.uri(HEDEF,
+                        "/" + current.version + "/models/" + current.model + ":streamGenerateContent?alt=sse&key=" + apiKey))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(requestJson(prompt)));
+        HttpResponse<InputStream> response;
+        try {
+            response = outboundHttpClient.send(HEDEF, request, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return AiResult.error("AI servisine ulasilamadi.");
+        } catch (IOException ex) {
+            if (!handle.abandoned()) {
+                logger.warn("AI stream network error", ex);
+                permit.failure();
+            }
+            return AiResult.error("AI servisine ulasilamadi.");
+        }
+
+        int status = response.statusCode();
+        if (status == 404) {
+            // Yedek üretimden önce bağlantı bırakılır
+            response.body().close();
+            permit.status(status);
+            markNotFound(current.key());
+            AiResult result = generateText(prompt);
+            if (result.isSuccess()) {
+                listener.onChunk(result.getText());
+            }
+            return result;
+        }
+        try (InputStream body = response.body()) {
+            if (status >= 400) {
+                permit.status(status);
+                logger.warn("AI stream error status {}", status);
+                return AiResult.error("AI servis hatasi (" + status + ").");
+            }
+            handle.attach(body);
+
+            // 2xx akışın başarısı akış bitince kaydedilir; yarıda kopan akış devre kesicide hata sayılır.
+            // İstemcinin gitmesi (dinleyici hatası, iptal ya da süre aşımında kapatılan gövde) sağlayıcı hakkında
+            // bilgi vermez ve yok sayılır
+            BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+            StringBuilder full = new StringBuilder();
+            JsonNode usage = null;
+            String line;
+            while ((line = readLine(reader, handle, permit)) != null) {
+                if (!line.startsWith("data:")) {
+                    continue;
+                }
+                JsonNode event = readTree(line.substring("data:".length()).trim());
+                // Her parça o ana kadarki toplam kullanımı taşır; sonuncusu geçerlidir
+                if (event.has("usageMetadata")) {
+                    usage = event.path("usageMetadata");
+                }
+                String chunk = extractChunk(event);
+                if (!chunk.isEmpty()) {
+                    full.append(chunk);
+                    listener.onChunk(chunk);
+                }
+            }
+            permit.success();
+            recordModelCall(current.key(), start);
+            if (full.length() == 0) {
+                return AiResult.error("Su an yanit veremiyorum. Daha sonra tekrar deneyin.");
+            }
+            long promptTokens = usage == null ? 0 : usage.path("promptTokenCount").asLong(0);
+            long responseTokens = usage == null ? 0 : usage.path("candidatesTokenCount").asLong(0);
+            recordTokens(current.key(), promptTokens, responseTokens);
+            return AiResult.ok(full.toString(), current.key(), promptTokens, responseTokens).withAttempts(1);
+        }
+    }
+
+    private String readLine(BufferedReader reader, StreamHandle handle, BreakerPermit permit) throws IOException {
+        try {
+            return reader.readLine();
+        } catch (IOException ex) {
+            if (!handle.abandoned()) {
+                logger.warn("AI stream interrupted", ex);
+                permit.failure();
+            }
+            throw ex;
+        }
+    }
+
+    // Tercih sırasıyla version x model çiftlerini, sonra katalogdaki modelleri dener; ilk çalışanı hatırlar
+    private AiResult resolve(String json, AtomicInteger attempts) {
+        Set<String> versions = buildVersions(apiVersion);
+        List<String> models = buildModels();
+        Set<String> tried = new LinkedHashSet<>();
+
+        for (String version : versions) {
+            for (String model : models) {
+                AiResult result = tryCandidate(version, model, json, tried, attempts);
+                if (result != null) {
+                    return result;
+                }
+            }
+        }
+
+        if (circuitBreaker.state() != AiCircuitBreaker.State.CLOSED) {
+            return AiResult.unavailable(UNAVAILABLE_MESSAGE);
+        }
+        for (String version : versions) {
+            for (String modelName : fetchModels(version)) {
+                AiResult result = tryCandidate(version, stripModelPrefix(modelName), json, tried, attempts);
+                if (result != null) {
+                    return result;
+                }
+            }
+        }
+
+        return AiResult.error("AI modeli bulunamadi. API ayarlarini kontrol edin.");
+    }
+
+    private AiResult tryCandidate(String version, String model, String json, Set<String> tried,
+                                  AtomicInteger attempts) {
+        String key = version + ":" + model;
+        if (model.isBlank() || !tried.add(key) || isNotFound(key)) {
+            return null;
+        }
+        GenerateCall call = callGenerate(version, model, json, attempts);
+        if (call.unavailable()) {
+            return AiResult.unavailable(UNAVAILABLE_MESSAGE);
+        }
+        if (call.notFound()) {
+            markNotFound(key);
+            return null;
+        }
+        if (call.text == null) {
+            return null;
+        }
+        if (call.error == null) {
+            active = new ResolvedModel(version, model, Instant.now());
+            logger.info("AI model resolved: {}", key);
+        }
+        return call.toResult(key);
+    }
+
+    // Aktif çift hâlâ katalogda mı, daha öncelikli bir model kullanılabilir mi; istek yolunu bekletmeden kontrol eder
+    @Scheduled(fixedDelayString = "${gemini.model.yenileme-ms:600000}", initialDelayString = "${gemini.model.yenileme-ms:600000}")
+    public void refresh() {
+        ResolvedModel current = active;
+        if (!isConfigured() || current == null || !refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            for (String version : buildVersions(apiVersion)) {
+                Set<String> available = new LinkedHashSet<>();
+                for (String name : loadCatalogue(version)) {
+                    available.add(stripModelPrefix(name));
+                }
+                if (available.isEmpty()) {
+                    continue;
+                }
+                for (String model : buildModels()) {
+                    String key = version + ":" + model;
+                    if (key.equals(current.key())) {
+                        active = new ResolvedModel(version, model, Instant.now());
+                        return;
+                    }
+                    if (available.contains(model) && !isNotFound(key)) {
+                        active = new ResolvedModel(version, model, Instant.now());
+                        logger.info("AI model switched: {} -> {}", current.key(), key);
+                        return;
+                    }
+                }
+            }
+            if (active == current) {
+                // Katalogda tercih listesinden model yok; aktif çift 404 verene kadar kullanılmaya devam eder
+                active = new ResolvedModel(current.version, current.model, Instant.now());
+            }
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private void refreshAsync() {
+        if (!refreshing.get()) {
+            CompletableFuture.runAsync(this::refresh);
+        }
+    }
+
+    public Map<String, Object> activeModel() {
+        ResolvedModel current = active;
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("model", current == null ? null : current.key());
+        response.put("resolvedAt", current == null ? null : current.resolvedAt.toString());
+        response.put("ttlMinutes", resolvedTtl.toMinutes());
+        Instant now = Instant.now();
+        List<String> skipped = new ArrayList<>();
+        notFound.forEach((key, until) -> {
+            if (until.isAfter(now)) {
+                skipped.add(key);
+            }
+        });
+        response.put("notFound", skipped);
+        response.put("circuit", circuitBreaker.state().name());
+        return response;
+    }
+
+    private boolean isNotFound(String key) {
+        Instant until = notFound.get(key);
+        if (until == null) {
+            return false;
+        }
+        if (until.isBefore(Instant.now())) {
+            notFound.remove(key, until);
+            return false;
+        }
+        return true;
+    }
+
+    private void markNotFound(String key) {
+        notFound.put(key, Instant.now().plus(notFoundTtl));
+        ResolvedModel current = active;
+        if (current != null && current.key().equals(key)) {
+            active = null;
+        }
+    }
+
+    private String requestJson(String prompt) throws IOException {
+        Map<String, Object> part = Map.of("text", prompt);
+        Map<String, Object> content = Map.of("role", "user", "parts", List.of(part));
+        Map<String, Object> body = Map.of("contents", List.of(content));
+        return objectMapper.writeValueAsString(body);
+    }
+
+    public Set<String> buildVersions(String preferred) {
+        Set<String> versions = new LinkedHashSet<>();
+        if (preferred != null && !preferred.isBlank()) {
+            versions.add(preferred.trim());
+        }
+        versions.add("v1");
+        versions.add("v1beta");
+        return versions;
+    }
+
+    private List<String> buildModels() {
+        List<String> models = new ArrayList<>();
+        if (apiModel != null && !apiModel.isBlank()) {
+            models.add(apiModel.trim());
+        }
+        for (String fallback : MODEL_FALLBACKS) {
+            if (!models.contains(fallback)) {
+                models.add(fallback);
+            }
+        }
+        return models;
+    }
+
+    private GenerateCall callGenerate(String version, String model, String json, AtomicInteger attempts) {
+        if (!circuitBreaker.allowRequest()) {
+            return GenerateCall.UNAVAILABLE;
+        }
+        attempts.incrementAndGet();
+        String key = version + ":" + model;
+        long start = System.nanoTime();
+        HttpRequest.Builder request = HttpRequest.newBuilder(
+                        outboundHttpClient.uri(HEDEF, "/" + version + "/models/" + model + ":generateContent?key=" + apiKey))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        try {
+            HttpResponse<String> response = outboundHttpClient.send(HEDEF, request);
+            recordModelCall(key, start);
+            int status = response.statusCode();
+            recordStatus(status);
+            if (status == 404) {
+                logger.warn("AI model not found: {} {}", version, model);
+                return GenerateCall.NOT_FOUND;
+            }
+            if (status >= 400) {
+                logger.warn("AI error status {} body {}", status, response.body());
+                return GenerateCall.error("AI servis hatasi (" + status + ").");
+            }
+            JsonNode root = readTree(response.body());
+            String text = extractText(root);
+            if (text.isBlank()) {
+                return GenerateCall.EMPTY;
+            }
+            JsonNode usage = root.path("usageMetadata");
+            long promptTokens = usage.path("promptTokenCount").asLong(0);
+            long responseTokens = usage.path("candidatesTokenCount").asLong(0);
+            recordTokens(key, promptTokens, responseTokens);
+            return GenerateCall.ok(text, promptTokens, responseTokens);
+        } catch (IOException ex) {
+            logger.warn("AI network error", ex);
+            circuitBreaker.recordFailure();
+            return GenerateCall.error("AI servisine ulasilamadi.");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            circuitBreaker.recordIgnored();
+            return GenerateCall.error("AI servisine ulasilamadi.");
+        } catch (Exception ex) {
+            logger.warn("AI unexpected error", ex);
+            circuitBreaker.recordIgnored();
+            return GenerateCall.error("Su an yanit veremiyorum. Daha sonra tekrar deneyin.");
+        }
+    }
+
+    private void recordModelCall(String key, long startNanos) {
+        metrikServisi.sureKaydet("ai.model." + key + ".sure", (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    private void recordTokens(String key, long promptTokens, long responseTokens) {
+        metrikServisi.ekle("ai.model." + key + ".token.girdi", promptTokens);
+        metrikServisi.ekle("ai.model." + key + ".token.cikti", responseTokens);
+    }
+
+    // 429 ve 5xx sağlayıcı sorunudur; 404 dahil diğer yanıtlar servisin ayakta olduğunu gösterir
+    private void recordStatus(int status) {
+        if (status == 429 || status >= 500) {
+            circuitBreaker.recordFailure();
+        } else {
+            circuitBreaker.recordSuccess();
+        }
+    }
+
+    // Önbellekteki katalog; yoksa veya eskiyse arka planda yüklenir ve o ana kadar bilinen liste (ya da boş) döner
+    public List<String> fetchModels(String version) {
+        Catalogue current = catalogue.get(version);
+        if (current == null || current.isExpired(catalogueTtl)) {
+            refreshCatalogueAsync(version);
+        }
+        return current == null ? List.of() : current.models;
+    }
+
+    // Uygulama açılışında ve ardından periyodik olarak bilinen tüm sürümlerin kataloğunu yeniler
+    @Scheduled(fixedDelayString = "${gemini.katalog.yenileme-ms:900000}")
+    public void refreshCatalogue() {
+        Set<String> versions = new LinkedHashSet<>(buildVersions(apiVersion));
+        versions.addAll(catalogue.keySet());
+        for (String version : versions) {
+            if (catalogueLoading.add(version)) {
+                try {
+                    loadCatalogue(version);
+                } finally {
+                    catalogueLoading.remove(version);
+                }
+            }
+        }
+    }
+
+    private void refreshCatalogueAsync(String version) {
+        if (catalogueLoading.add(version)) {
+            CompletableFuture.runAsync(() -> {
+                try {
+                    loadCatalogue(version);
+                } finally {
+                    catalogueLoading.remove(version);
+                }
+            });
+        }
+    }
+
+    // Kataloğu canlı çeker ve önbelleğe yazar; hata durumunda varsa eski liste döner
+    private List<String> loadCatalogue(String version) {
+        Catalogue previous = catalogue.get(version);
+        List<String> stale = previous == null ? List.of() : previous.models;
+        if (!isConfigured() || circuitBreaker.state() == AiCircuitBreaker.State.OPEN) {
+            return stale;
+        }
+        HttpRequest.Builder request = HttpRequest.newBuilder(
+                outboundHttpClient.uri(HEDEF, "/" + version + "/models?key=" + apiKey)).GET();
+        try {
+            HttpResponse<String> response = outboundHttpClient.send(HEDEF, request);
+            if (response.statusCode() >= 400) {
+                logger.warn("AI model list error {} body {}", response.statusCode(), response.body());
+                return stale;
+            }
+            List<String> models = extractModelNames(response.body());
+            catalogue.put(version, new Catalogue(models, Instant.now()));
+            return models;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return stale;
+        } catch (Exception ex) {
+            logger.warn("AI model list error", ex);
+            return stale;
+        }
+    }
+
+    private List<String> extractModelNames(String responseBody) {
+        if (responseBody == null || responseBody.isBlank()) {
+            return List.of();
+        }
+        List<String> names = new ArrayList<>();
+        try {
+            JsonNode root = objectMapper.readTree(responseBody);
+            JsonNode models = root.path("models");
+            if (models.isArray()) {
+                for (JsonNode model : models) {
+                    JsonNode methods = model.path("supportedGenerationMethods");
+                    boolean ok = false;
+                    if (methods.isArray()) {
+                        for (JsonNode method : methods) {
+                            if ("generateContent".equalsIgnoreCase(method.asText(""))) {
+                                ok = true;
+                                break;
+                            }
+                        }
+                    }
+                    if (ok) {
+                        String name = model.path("name").asText("");
+                        if (!name.isBlank()) {
+                            names.add(name);
+                        }
+                    }
+                }
+            }
+        } catch (Exception ex) {
+            return List.of();
+        }
+        return List.copyOf(names);
+    }
+
+    private String stripModelPrefix(String name) {
+        if (name == null) {
+            return "";
+        }
+        String trimmed = name.trim();
+        return trimmed.startsWith("models/") ? trimmed.substring("models/".length()) : trimmed;
+    }
+
+    // Boş veya bozuk gövde MissingNode olur; path() zinciri yine güvenle boş döner
+    private JsonNode readTree(String json) {
+        if (json == null || json.isBlank()) {
+            return MissingNode.getInstance();
+        }
+        try {
+            return objectMapper.readTree(json);
+        } catch (Exception ex) {
+            return MissingNode.getInstance();
+        }
+    }
+
+    // Akış parçalarında baştaki/sondaki boşluklar kelime aralarıdır, kırpılmaz
+    private String extractChunk(JsonNode event) {
+        return event.path("candidates").path(0).path("content").path("parts").path(0).path("text").asText("");
+    }
+
+    private String extractText(JsonNode root) {
+        JsonNode textNode = root.path("candidates")
+                .path(0)
+                .path("content")
+                .path("parts")
+                .path(0)
+                .path("text");
+        return textNode.isMissingNode() ? "" : textNode.asText("").trim();
+    }
+
+    public interface ChunkListener {
+        void onChunk(String text) throws IOException;
+    }
+
+    // Akışı başka bir thread'den iptal etmeye yarar (istemci gitti, süre doldu)
+    public static class StreamHandle {
+        private volatile boolean cancelled;
+        private volatile InputStream body;
+
+        public void cancel() {
+            cancelled = true;
+            closeQuietly(body);
+        }
+
+        private void attach(InputStream body) {
+            this.body = body;
+            if (cancelled) {
+                closeQuietly(body);
+            }
+        }
+
+        // İptal edildi ya da çalışan thread kesildi: okuma hatası sağlayıcıdan kaynaklanmıyor
+        private boolean abandoned() {
+            return cancelled || Thread.currentThread().isInterrupted();
+        }
+
+        private static void closeQuietly(InputStream body) {
+            if (body == null) {
+                return;
+            }
+            try {
+                body.close();
+            } catch (IOException ignored) {
+                // bağlantı zaten kapalı
+            }
+        }
+    }
+
+    // Tek allowRequest iznine karşılık gelen sonuç; yalnızca ilk bildirim devre kesiciye iletilir
+    private static class BreakerPermit {
+        private final AiCircuitBreaker circuitBreaker;
+        private boolean reported;
+
+        private BreakerPermit(AiCircuitBreaker circuitBreaker) {
+            this.circuitBreaker = circuitBreaker;
+        }
+
+        private void status(int status) {
+            if (status == 429 || status >= 500) {
+                failure();
+            } else {
+                success();
+            }
+        }
+
+        private void success() {
+            if (!reported) {
+                reported = true;
+                circuitBreaker.recordSuccess();
+            }
+        }
+
+        private void failure() {
+            if (!reported) {
+                reported = true;
+                circuitBreaker.recordFailure();
+            }
+        }
+
+        private void ignored() {
+            if (!reported) {
+                reported = true;
+                circuitBreaker.recordIgnored();
+            }
+        }
+    }
+
+    private static class ResolvedModel {
+        private final String version;
+        private final String model;
+        private final Instant resolvedAt;
+
+        private ResolvedModel(String version, String model, Instant resolvedAt) {
+            this.version = version;
+            this.model = model;
+            this.resolvedAt = resolvedAt;
+        }
+
+        private String key() {
+            return version + ":" + model;
+        }
+
+        private boolean isExpired(Duration ttl) {
+            return resolvedAt.plus(ttl).isBefore(Instant.now());
+        }
+    }
+
+    private static class Catalogue {
+        private final List<String> models;
+        private final Instant fetchedAt;
+
+        private Catalogue(List<String> models, Instant fetchedAt) {
+            this.models = models;
+            this.fetchedAt = fetchedAt;
+        }
+
+        private boolean isExpired(Duration ttl) {
+            return fetchedAt.plus(ttl).isBefore(Instant.now());
+        }
+    }
+
+    // Tek generateContent çağrısının sonucu: devre açık, 404, boş yanıt, hata mesajı veya metin
+    private static class GenerateCall {
+        private static final GenerateCall NOT_FOUND = new GenerateCall(null, null, true, false, 0, 0);
+        private static final GenerateCall EMPTY = new GenerateCall(null, null, false, false, 0, 0);
+        private static final GenerateCall UNAVAILABLE = new GenerateCall(null, null, false, true, 0, 0);
+
+        private final String text;
+        private final String error;
+        private final boolean notFound;
+        private final boolean unavailable;
+        private final long promptTokens;
+        private final long responseTokens;
+
+        private GenerateCall(String text, String error, boolean notFound, boolean unavailable,
+                             long promptTokens, long responseTokens) {
+            this.text = text;
+            this.error = error;
+            this.notFound = notFound;
+            this.unavailable = unavailable;
+            this.promptTokens = promptTokens;
+            this.responseTokens = responseTokens;
+        }
+
+        private static GenerateCall ok(String text, long promptTokens, long responseTokens) {
+            return new GenerateCall(text, null, false, false, promptTokens, responseTokens);
+        }
+
+        private static GenerateCall error(String message) {
+            return new GenerateCall(message, message, false, false, 0, 0);
+        }
+
+        private boolean notFound() {
+            return notFound;
+        }
+
+        private boolean unavailable() {
+            return unavailable;
+        }
+
+        private AiResult toResult(String model) {
+            if (text == null) {
+                return AiResult.error("Su an yanit veremiyorum. Daha sonra tekrar deneyin.");
+            }
+            return error == null ? AiResult.ok(text, model, promptTokens, responseTokens) : AiResult.error(error);
+        }
+    }
+}
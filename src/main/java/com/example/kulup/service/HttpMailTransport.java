@@ -0,0 +1,48 @@
+package com.example.kulup.service;
+
+import com.example.kulup.dto.MailDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+// Batch'i Python mail-service'in /send-mail-batch ucuna iletir
+@Service
+@ConditionalOnProperty(name = "mail.transport", havingValue = "http", matchIfMissing = true)
+public class HttpMailTransport implements MailTransport {
+
+    private static final String HEDEF = "mail";
+
+    private final OutboundHttpClient outboundHttpClient;
+    private final ObjectMapper objectMapper;
+
+    public HttpMailTransport(OutboundHttpClient outboundHttpClient, ObjectMapper objectMapper) {
+        this.outboundHttpClient = outboundHttpClient;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public List<String> gonder(List<MailDTO> mailler) throws IOException, InterruptedException {
+        HttpRequest.Builder istek = HttpRequest.newBuilder(outboundHttpClient.uri(HEDEF, "/send-mail-batch"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(mailler)));
+        HttpResponse<byte[]> res = outboundHttpClient.send(HEDEF, istek, HttpResponse.BodyHandlers.ofByteArray());
+        if (res.statusCode() >= 400) {
+            throw new IOException("mail-service " + res.statusCode() + " " + new String(res.body()));
+        }
+
+        JsonNode sonuclar = objectMapper.readTree(res.body()).path("sonuclar");
+        List<String> hatalar = new ArrayList<>(mailler.size());
+        for (int i = 0; i < mailler.size(); i++) {
+            JsonNode sonuc = sonuclar.path(i);
+            hatalar.add("ok".equals(sonuc.path("status").asText()) ? null : sonuc.path("detail").asText("sonuç yok"));
+        }
+        return hatalar;
+    }
+}
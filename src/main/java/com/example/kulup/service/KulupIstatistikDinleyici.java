@@ -0,0 +1,62 @@
+package com.example.kulup.service;
+
+import com.example.kulup.model.KulupIstatistikKaynagi;
+import com.example.kulup.model.KulupIstatistikKatkisi;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.Objects;
+
+// Uye/Etkinlik/Gorev/Aidat için JPA dinleyicisi: yükleme anındaki katkıyı saklar, yazma/silmede
+// farkı KulupIstatistikServisi'ne bildirir. Servis, EntityManagerFactory kurulurken henüz hazır olmadığı için tembel alınır.
+public class KulupIstatistikDinleyici {
+
+    private final ObjectProvider<KulupIstatistikServisi> istatistikServisi;
+
+    public KulupIstatistikDinleyici(ObjectProvider<KulupIstatistikServisi> istatistikServisi) {
+        this.istatistikServisi = istatistikServisi;
+    }
+
+    @PostLoad
+    public void yuklendi(Object varlik) {
+        KulupIstatistikKaynagi kaynak = (KulupIstatistikKaynagi) varlik;
+        kaynak.sonKatki(kaynak.istatistikKatkisi());
+    }
+
+    @PostPersist
+    public void eklendi(Object varlik) {
+        KulupIstatistikKaynagi kaynak = (KulupIstatistikKaynagi) varlik;
+        KulupIstatistikKatkisi yeni = kaynak.istatistikKatkisi();
+        istatistikServisi.getObject().farkKaydet(yeni);
+        kaynak.sonKatki(yeni);
+    }
+
+    @PostUpdate
+    public void guncellendi(Object varlik) {
+        KulupIstatistikKaynagi kaynak = (KulupIstatistikKaynagi) varlik;
+        KulupIstatistikKatkisi yeni = kaynak.istatistikKatkisi();
+        KulupIstatistikKatkisi onceki = kaynak.sonKatki();
+        KulupIstatistikServisi servis = istatistikServisi.getObject();
+        if (onceki == null) {
+            // Önceki hali bilinmiyor; fark yerine kulüp sıfırdan hesaplanır
+            servis.yenidenHesaplanacak(yeni.getKulupId());
+        } else if (Objects.equals(onceki.getKulupId(), yeni.getKulupId())) {
+            servis.farkKaydet(yeni.eksi(onceki));
+        } else {
+            servis.farkKaydet(onceki.negatif());
+            servis.farkKaydet(yeni);
+        }
+        kaynak.sonKatki(yeni);
+    }
+
+    @PostRemove
+    public void silindi(Object varlik) {
+        KulupIstatistikKaynagi kaynak = (KulupIstatistikKaynagi) varlik;
+        KulupIstatistikKatkisi onceki = kaynak.sonKatki() != null ? kaynak.sonKatki() : kaynak.istatistikKatkisi();
+        istatistikServisi.getObject().farkKaydet(onceki.negatif());
+        kaynak.sonKatki(null);
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.kulup.service;
+
+import com.example.kulup.dto.KulupSayaclari;
+import com.example.kulup.model.KulupIstatistik;
+import com.example.kulup.model.KulupIstatistikKatkisi;
+import com.example.kulup.repository.KulupIstatistikRepository;
+import com.example.kulup.repository.KulupRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+// kulup_istatistik satırlarının bakımı. KulupIstatistikDinleyici'den gelen farklar işlem boyunca kulüp başına
+// toplanır ve commit'ten sonra tek bir arka plan iş parçacığında, kendi işleminde atomik UPDATE ile uygulanır;
+// rollback olan işlemin farkı atılır. İstek iş parçacığı commit sırasında bağlantısını hâlâ tuttuğundan farklar orada
+// uygulanmaz, aksi halde eşzamanlı isteklerde her biri ikinci bir bağlantı bekleyip havuzu tüketir.
+// Satırı olmayan kulüp KulupRepository.sayaclar ile sıfırdan hesaplanır. Toplu JPQL güncellemeleri ve
+// yarıda kalan uygulamalar yüzünden oluşabilecek sapmayı periyodik mutabakat düzeltir.
+@Service
+public class KulupIstatistikServisi {
+
+    private final KulupIstatistikRepository istatistikRepository;
+    private final KulupRepository kulupRepository;
+    private final MetrikServisi metrikServisi;
+    private final TransactionTemplate yeniIslem;
+    private final ExecutorService uygulayici = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "kulup-istatistik");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Kulüp başına: commit'i/uygulaması bitmemiş işlem sayısı ve fark sırası. Mutabakat, hesapladığı değerin
+    // arada uygulanacak bir farkı ikinci kez saymaması için ikisi de değişmemişse yazar.
+    private final Map<Long, AtomicLong> bekleyenIslem = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> farkSirasi = new ConcurrentHashMap<>();
+
+    public KulupIstatistikServisi(KulupIstatistikRepository istatistikRepository,
+            KulupRepository kulupRepository,
+            MetrikServisi metrikServisi,
+            PlatformTransactionManager transactionManager) {
+        this.istatistikRepository = istatistikRepository;
+        this.kulupRepository = kulupRepository;
+        this.metrikServisi = metrikServisi;
+        this.yeniIslem = new TransactionTemplate(transactionManager);
+        this.yeniIslem.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PreDestroy
+    public void kapat() {
+        uygulayici.shutdown();
+    }
+
+    // Panel okumaları: tek birincil anahtar okuması; satır henüz yoksa bir kez hesaplanıp yazılır
+    public KulupIstatistik getir(Long kulupId) {
+        Optional<KulupIstatistik> kayit = istatistikRepository.findById(kulupId);
+        if (kayit.isPresent()) {
+            return kayit.get();
+        }
+        try {
+            KulupIstatistik hesaplanan = yeniIslem.execute(status -> yenidenHesapla(kulupId));
+            return hesaplanan != null ? hesaplanan : new KulupIstatistik(kulupId);
+        } catch (DataIntegrityViolationException e) {
+            // Aynı anda başka bir istek satırı oluşturdu
+            return istatistikRepository.findById(kulupId).orElseGet(() -> new KulupIstatistik(kulupId));
+        }
+    }
+
+    public void farkKaydet(KulupIstatistikKatkisi fark) {
+        if (fark.getKulupId() == null || fark.bosMu()) {
+            return;
+        }
+        sayac(farkSirasi, fark.getKulupId()).incrementAndGet();
+        IslemFarklari farklar = islemFarklari();
+        if (farklar == null) {
+            uygula(Map.of(fark.getKulupId(), fark), Set.of());
+            return;
+        }
+        farklar.ekle(fark);
+    }
+
+    public void yenidenHesaplanacak(Long kulupId) {
+        if (kulupId == null) {
+            return;
+        }
+        sayac(farkSirasi, kulupId).incrementAndGet();
+        IslemFarklari farklar = islemFarklari();
+        if (farklar == null) {
+            uygula(Map.of(), Set.of(kulupId));
+            return;
+        }
+        farklar.yenidenHesapla(kulupId);
+    }
+
+    // Her kulübü sıfırdan hesaplanan değerle karşılaştırır, sapanları düzeltir ve silinmiş kulüplerin satırlarını temizler
+    @Scheduled(fixedDelayString = "${kulup.istatistik.mutabakat-ms:3600000}",
+            initialDelayString = "${kulup.istatistik.mutabakat-ms:3600000}")
+    public void mutabakat() {
+        int duzeltilen = 0;
+        int ertelenen = 0;
+        for (Long kulupId : kulupRepository.tumIdler()) {
+            long sira = sayac(farkSirasi, kulupId).get();
+            if (sayac(bekleyenIslem, kulupId).get() > 0) {
+                ertelenen++;
+                continue;
+            }
+            Boolean sonuc = yeniIslem.execute(status -> {
+                KulupSayaclari gercek = kulupRepository.sayaclar(kulupId).orElse(null);
+                KulupIstatistik kayit = istatistikRepository.kilitle(kulupId).orElse(null);
+                if (gercek == null || sayac(farkSirasi, kulupId).get() != sira
+                        || sayac(bekleyenIslem, kulupId).get() > 0) {
+                    return null;
+                }
+                if (kayit != null && kayit.ayni(gercek)) {
+                    return false;
+                }
+                KulupIstatistik yeni = kayit != null ? kayit : new KulupIstatistik(kulupId);
+                yeni.doldur(gercek, LocalDateTime.now());
+                istatistikRepository.save(yeni);
+                return true;
+            });
+            if (sonuc == null) {
+                ertelenen++;
+            } else if (sonuc) {
+                duzeltilen++;
+            }
+        }
+        Integer silinen = yeniIslem.execute(status -> istatistikRepository.sahipsizleriSil());
+        metrikServisi.ekle("kulup.istatistik.sapma", duzeltilen);
+        if (duzeltilen > 0 || (silinen != null && silinen > 0)) {
+            System.out.println("Kulüp istatistik mutabakatı: " + duzeltilen + " düzeltildi, "
+                    + silinen + " silindi, " + ertelenen + " ertelendi");
+        }
+    }
+
+    private IslemFarklari islemFarklari() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        IslemFarklari farklar = (IslemFarklari) TransactionSynchronizationManager.getResource(this);
+        if (farklar == null) {
+            farklar = new IslemFarklari();
+            TransactionSynchronizationManager.bindResource(this, farklar);
+            TransactionSynchronizationManager.registerSynchronization(farklar);
+        }
+        return farklar;
+    }
+
+    // Commit edilmiş işlemin farkları; her kulüp kendi kısa işleminde güncellenir ki biri diğerini bekletmesin.
+    // Satır yokken aynı anda getir() de oluşturursa ekleme çakışır; o satır mutabakata kadar kalır.
+    private void uygula(Map<Long, KulupIstatistikKatkisi> farklar, Set<Long> yenidenHesaplanacak) {
+        LocalDateTime zaman = LocalDateTime.now();
+        for (KulupIstatistikKatkisi fark : farklar.values()) {
+            if (fark.bosMu() || yenidenHesaplanacak.contains(fark.getKulupId())) {
+                continue;
+            }
+            try {
+                yeniIslem.executeWithoutResult(status -> {
+                    int guncellenen = istatistikRepository.farkUygula(fark.getKulupId(), fark.getTumUye(),
+                            fark.getOnayliUye(), fark.getBekleyenTalep(), fark.getToplamEtkinlik(),
+                            fark.getBekleyenGorev(), fark.getOdenenAidat(), fark.getBekleyenAidat(), zaman);
+                    if (guncellenen == 0) {
+                        yenidenHesapla(fark.getKulupId());
+                    }
+                });
+                metrikServisi.artir("kulup.istatistik.fark");
+            } catch (Exception e) {
+                // Satır mutabakata kadar eski kalır
+                metrikServisi.artir("kulup.istatistik.hata");
+                System.err.println("Kulüp istatistiği güncellenemedi (" + fark.getKulupId() + "): " + e.getMessage());
+            }
+        }
+        for (Long kulupId : yenidenHesaplanacak) {
+            try {
+                yeniIslem.executeWithoutResult(status -> yenidenHesapla(kulupId));
+            } catch (Exception e) {
+                metrikServisi.artir("kulup.istatistik.hata");
+                System.err.println("Kulüp istatistiği hesaplanamadı (" + kulupId + "): " + e.getMessage());
+            }
+        }
+    }
+
+    // Çağıran işlem içinde; kulüp silinmişse satırı da kaldırır
+    private KulupIstatistik yenidenHesapla(Long kulupId) {
+        Optional<KulupSayaclari> sayaclar = kulupRepository.sayaclar(kulupId);
+        if (sayaclar.isEmpty()) {
+            istatistikRepository.deleteById(kulupId);
+            return null;
+        }
+        KulupIstatistik istatistik = istatistikRepository.findById(kulupId)
+                .orElseGet(() -> new KulupIstatistik(kulupId));
+        istatistik.doldur(sayaclar.get(), LocalDateTime.now());
+        return istatistikRepository.save(istatistik);
+    }
+
+    private static AtomicLong sayac(Map<Long, AtomicLong> sayaclar, Long kulupId) {
+        return sayaclar.computeIfAbsent(kulupId, k -> new AtomicLong());
+    }
+
+    // Tek bir işlemde biriken farklar, kulüp başına toplanmış
+    private class IslemFarklari implements TransactionSynchronization {
+
+        private final Map<Long, KulupIstatistikKatkisi> farklar = new HashMap<>();
+        private final Set<Long> yenidenHesaplanacak = new HashSet<>();
+        private final Set<Long> kulupler = new HashSet<>();
+
+        private void ekle(KulupIstatistikKatkisi fark) {
+            isaretle(fark.getKulupId());
+            farklar.merge(fark.getKulupId(), fark, KulupIstatistikKatkisi::arti);
+        }
+
+        private void yenidenHesapla(Long kulupId) {
+            isaretle(kulupId);
+            yenidenHesaplanacak.add(kulupId);
+        }
+
+        private void isaretle(Long kulupId) {
+            if (kulupler.add(kulupId)) {
+                sayac(bekleyenIslem, kulupId).incrementAndGet();
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            try {
+                uygulayici.execute(() -> {
+                    try {
+                        uygula(farklar, yenidenHesaplanacak);
+                    } finally {
+                        birak();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // Uygulama kapanıyor; fark mutabakatla telafi edilir
+                birak();
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(KulupIstatistikServisi.this);
+            if (status != STATUS_COMMITTED) {
+                birak();
+            }
+        }
+
+        // Bekleyen işlem sayacı fark uygulandıktan sonra düşer; mutabakat o ana kadar bu kulüpleri atlar
+        private void birak() {
+            for (Long kulupId : kulupler) {
+                sayac(bekleyenIslem, kulupId).decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.kulup.service;
+
+import com.example.kulup.dto.MailDTO;
+import com.example.kulup.model.MailOutbox;
+import com.example.kulup.repository.MailOutboxRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Outbox'taki bekleyen mailleri sahiplenip sınırlı bir kuyruğa alır; sabit sayıda işçi thread'i kuyruğu
+// batch'ler halinde MailTransport'a iletir ve sonucu kayda yazar.
+// Birden fazla düğüm aynı tabloyu boşaltabilir: bir kayıt ancak BEKLEMEDE -> ISLENIYOR koşullu güncellemesini
+// kazanan düğüm tarafından gönderilir. Kilit süresi dolan kayıt gönderilmez; sonuç da yalnızca kilit hâlâ
+// bu düğümdeyse yazılır, böylece kilidi devralan düğümün durumu ezilmez.
+@Service
+public class MailOutboxDispatcher {
+
+    private static final int MAX_HATA_UZUNLUGU = 500;
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final MailTransport mailTransport;
+    private final MetrikServisi metrikServisi;
+    private final TransactionTemplate islem;
+    private final BlockingQueue<MailOutbox> kuyruk;
+    private final int eszamanlilik;
+    private final int batchBoyutu;
+    private final int maxDeneme;
+    private final long baseBackoffMs;
+    private final long maxBackoffMs;
+    private final Duration kilitSuresi;
+    private final String dugum;
+    private final List<Thread> isciler = new ArrayList<>();
+    private volatile boolean calisiyor = true;
+
+    public MailOutboxDispatcher(MailOutboxRepository mailOutboxRepository,
+            MailTransport mailTransport,
+            MetrikServisi metrikServisi,
+            PlatformTransactionManager transactionManager,
+            @Value("${mail.kuyruk.kapasite:1000}") int kapasite,
+            @Value("${mail.kuyruk.eszamanlilik:2}") int eszamanlilik,
+            @Value("${mail.kuyruk.batch-boyutu:20}") int batchBoyutu,
+            @Value("${mail.outbox.max-deneme:8}") int maxDeneme,
+            @Value("${mail.outbox.base-backoff-ms:30000}") long baseBackoffMs,
+            @Value("${mail.outbox.max-backoff-ms:3600000}") long maxBackoffMs,
+            @Value("${mail.outbox.kilit-suresi-dk:15}") long kilitSuresiDk) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.mailTransport = mailTransport;
+        this.metrikServisi = metrikServisi;
+        this.islem = new TransactionTemplate(transactionManager);
+        this.kuyruk = new ArrayBlockingQueue<>(kapasite);
+        this.eszamanlilik = eszamanlilik;
+        this.batchBoyutu = batchBoyutu;
+        this.maxDeneme = maxDeneme;
+        this.baseBackoffMs = baseBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.kilitSuresi = Duration.ofMinutes(kilitSuresiDk);
+        this.dugum = ManagementFactory.getRuntimeMXBean().getName();
+        metrikServisi.gostergeEkle("mail.kuyruk.derinlik", kuyruk::size);
+    }
+
+    @PostConstruct
+    public void baslat() {
+        for (int i = 1; i <= eszamanlilik; i++) {
+            Thread t = new Thread(this::isle, "mail-gonderici-" + i);
+            t.setDaemon(true);
+            t.start();
+            isciler.add(t);
+        }
+    }
+
+    @PreDestroy
+    public void kapat() {
+        calisiyor = false;
+        isciler.forEach(Thread::interrupt);
+    }
+
+    // Kuyrukta yer kadar kayıt sahiplenir; kuyruk doluysa kayıtlar tabloda bekler (backpressure)
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-ms:2000}")
+    public void bosalt() {
+        LocalDateTime simdi = LocalDateTime.now();
+        int birakilan = mailOutboxRepository.suresiDolanKilitleriBirak(simdi.minus(kilitSuresi));
+        if (birakilan > 0) {
+            metrikServisi.ekle("mail.kilit-zaman-asimi", birakilan);
+        }
+
+        int yer = kuyruk.remainingCapacity();
+        if (yer == 0) {
+            return;
+        }
+        List<Long> adaylar = mailOutboxRepository.bekleyenIdler(simdi, PageRequest.of(0, yer));
+        if (adaylar.isEmpty()) {
+            return;
+        }
+
+        String kilit = dugum + ":" + UUID.randomUUID();
+        mailOutboxRepository.sahiplen(kilit, simdi, adaylar);
+        List<Long> sigmayan = new ArrayList<>();
+        for (MailOutbox kayit : mailOutboxRepository.findByKilitAndDurum(kilit, "ISLENIYOR")) {
+            if (!kuyruk.offer(kayit)) {
+                sigmayan.add(kayit.getId());
+            }
+        }
+        if (!sigmayan.isEmpty()) {
+            mailOutboxRepository.birak(sigmayan);
+        }
+    }
+
+    private void isle() {
+        List<MailOutbox> batch = new ArrayList<>(batchBoyutu);
+        while (calisiyor) {
+            try {
+                MailOutbox ilk = kuyruk.poll(1, TimeUnit.SECONDS);
+                if (ilk == null) {
+                    continue;
+                }
+                batch.add(ilk);
+                kuyruk.drainTo(batch, batchBoyutu - 1);
+                gonder(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                System.err.println("MAIL ERROR: " + e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void gonder(List<MailOutbox> tumu) throws InterruptedException {
+        // Kuyrukta kilit süresinden uzun bekleyen kayıt başka düğüme bırakılmış olabilir; göndermek çift mail demek
+        LocalDateTime sinir = LocalDateTime.now().minus(kilitSuresi);
+        List<MailOutbox> batch = new ArrayList<>(tumu.size());
+        for (MailOutbox kayit : tumu) {
+            if (kayit.getKilitZamani().isAfter(sinir)) {
+                batch.add(kayit);
+            } else {
+                metrikServisi.artir("mail.kilit-kaybedilen");
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<MailDTO> mailler = batch.stream()
+                .map(kayit -> new MailDTO(kayit.getEmail(), kayit.getBaslik(), kayit.getMesaj()))
+                .toList();
+        List<String> hatalar;
+        try {
+            hatalar = mailTransport.gonder(mailler);
+        } catch (IOException e) {
+            String mesaj = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            System.err.println("MAIL ERROR: " + mesaj);
+            hatalar = new ArrayList<>();
+            for (int i = 0; i < batch.size(); i++) {
+                hatalar.add(mesaj);
+            }
+        }
+
+        LocalDateTime simdi = LocalDateTime.now();
+        int basarili = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            MailOutbox kayit = batch.get(i);
+            String hata = hatalar.get(i);
+            kayit.setDenemeSayisi(kayit.getDenemeSayisi() + 1);
+            if (hata == null) {
+                basarili++;
+                kayit.setDurum("GONDERILDI");
+                kayit.setGonderimTarihi(simdi);
+                kayit.setSonHata(null);
+                metrikServisi.sureKaydet("mail.teslim",
+                        Duration.between(kayit.getOlusturmaTarihi(), simdi).toMillis());
+                continue;
+            }
+            System.err.println("MAIL ERROR: " + kayit.getEmail() + " " + hata);
+            kayit.setSonHata(hata.length() > MAX_HATA_UZUNLUGU ? hata.substring(0, MAX_HATA_UZUNLUGU) : hata);
+            if (kayit.getDenemeSayisi() >= maxDeneme) {
+                kayit.setDurum("ZEHIRLI");
+            } else {
+                kayit.setDurum("BEKLEMEDE");
+                kayit.setSonrakiDeneme(simdi.plus(Duration.ofMillis(geriCekilme(kayit.getDenemeSayisi()))));
+            }
+        }
+        sonuclariYaz(batch);
+        System.out.println("MAIL OK: " + basarili + "/" + batch.size());
+        metrikServisi.ekle("mail.gonderilen", basarili);
+        metrikServisi.ekle("mail.hata", batch.size() - basarili);
+    }
+
+    private void sonuclariYaz(List<MailOutbox> batch) {
+        Integer kaybedilen = islem.execute(status -> {
+            int sayi = 0;
+            for (MailOutbox kayit : batch) {
+                if (mailOutboxRepository.sonucYaz(kayit.getId(), kayit.getKilit(), kayit.getDurum(),
+                        kayit.getDenemeSayisi(), kayit.getSonrakiDeneme(), kayit.getGonderimTarihi(),
+                        kayit.getSonHata()) == 0) {
+                    sayi++;
+                }
+            }
+            return sayi;
+        });
+        if (kaybedilen != null && kaybedilen > 0) {
+            metrikServisi.ekle("mail.kilit-kaybedilen", kaybedilen);
+            System.err.println("MAIL ERROR: " + kaybedilen + " kaydın kilidi başka düğüme geçmiş, sonuç yazılmadı");
+        }
+    }
+
+    // Üstel geri çekilme + jitter: [taban/2, taban] aralığında rastgele bekleme
+    private long geriCekilme(int deneme) {
+        long taban = Math.min(maxBackoffMs, baseBackoffMs << Math.min(deneme - 1, 20));
+        return taban / 2 + ThreadLocalRandom.current().nextLong(taban / 2 + 1);
+    }
+}
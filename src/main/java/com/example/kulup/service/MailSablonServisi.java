@@ -0,0 +1,130 @@
+package com.example.kulup.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// classpath:mail-sablonlari/*.txt şablonları açılışta bir kez ayrıştırılır (ilk satır konu, boş satırdan sonrası gövde).
+// {{degisken}} yer tutucuları parça listesine çevrilir; render sırasında regex/replace yapılmaz,
+// parçalar thread başına tekrar kullanılan bir buffer'a eklenir.
+@Service
+public class MailSablonServisi {
+
+    private static final String KONUM = "classpath:mail-sablonlari/*.txt";
+    private static final int MAX_BUFFER = 64 * 1024;
+
+    private final Map<String, Sablon> sablonlar = new HashMap<>();
+    private final ThreadLocal<StringBuilder> buffer = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
+    @PostConstruct
+    public void yukle() throws IOException {
+        for (Resource kaynak : new PathMatchingResourcePatternResolver().getResources(KONUM)) {
+            String dosya = kaynak.getFilename();
+            String ad = dosya.substring(0, dosya.length() - ".txt".length());
+            String icerik = kaynak.getContentAsString(StandardCharsets.UTF_8).replace("\r\n", "\n");
+            int ayrac = icerik.indexOf("\n\n");
+            if (ayrac < 0) {
+                throw new IllegalStateException("Mail şablonunda konu/gövde ayrımı yok: " + dosya);
+            }
+            sablonlar.put(ad, new Sablon(ayristir(icerik.substring(0, ayrac).trim(), dosya),
+                    ayristir(icerik.substring(ayrac + 2), dosya)));
+        }
+    }
+
+    public Mail render(String sablonAdi, Map<String, ?> degiskenler) {
+        Sablon sablon = sablonlar.get(sablonAdi);
+        if (sablon == null) {
+            throw new IllegalArgumentException("Tanımsız mail şablonu: " + sablonAdi);
+        }
+        return new Mail(yaz(sablon.konu, degiskenler), yaz(sablon.govde, degiskenler));
+    }
+
+    private String yaz(Parca[] parcalar, Map<String, ?> degiskenler) {
+        StringBuilder sb = buffer.get();
+        sb.setLength(0);
+        for (Parca parca : parcalar) {
+            if (parca.degisken) {
+                Object deger = degiskenler.get(parca.metin);
+                if (deger == null) {
+                    throw new IllegalArgumentException("Mail şablon değişkeni eksik: " + parca.metin);
+                }
+                sb.append(deger);
+            } else {
+                sb.append(parca.metin);
+            }
+        }
+        String sonuc = sb.toString();
+        if (sb.capacity() > MAX_BUFFER) {
+            buffer.remove();
+        }
+        return sonuc;
+    }
+
+    private static Parca[] ayristir(String metin, String dosya) {
+        List<Parca> parcalar = new ArrayList<>();
+        int i = 0;
+        while (i < metin.length()) {
+            int ac = metin.indexOf("{{", i);
+            if (ac < 0) {
+                parcalar.add(new Parca(metin.substring(i), false));
+                break;
+            }
+            int kapa = metin.indexOf("}}", ac);
+            if (kapa < 0) {
+                throw new IllegalStateException("Kapanmamış {{ : " + dosya);
+            }
+            if (ac > i) {
+                parcalar.add(new Parca(metin.substring(i, ac), false));
+            }
+            parcalar.add(new Parca(metin.substring(ac + 2, kapa).trim(), true));
+            i = kapa + 2;
+        }
+        return parcalar.toArray(new Parca[0]);
+    }
+
+    public static class Mail {
+        private final String baslik;
+        private final String mesaj;
+
+        private Mail(String baslik, String mesaj) {
+            this.baslik = baslik;
+            this.mesaj = mesaj;
+        }
+
+        public String getBaslik() {
+            return baslik;
+        }
+
+        public String getMesaj() {
+            return mesaj;
+        }
+    }
+
+    private static class Sablon {
+        private final Parca[] konu;
+        private final Parca[] govde;
+
+        private Sablon(Parca[] konu, Parca[] govde) {
+            this.konu = konu;
+            this.govde = govde;
+        }
+    }
+
+    private static class Parca {
+        private final String metin;
+        private final boolean degisken;
+
+        private Parca(String metin, boolean degisken) {
+            this.metin = metin;
+            this.degisken = degisken;
+        }
+    }
+}
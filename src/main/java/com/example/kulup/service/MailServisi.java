@@ -1,33 +1,54 @@
 package com.example.kulup.service;
 
-import com.example.kulup.dto.MailDTO;
+import com.example.kulup.model.MailOutbox;
+import com.example.kulup.repository.MailOutboxRepository;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
 
+import java.util.Map;
+import java.util.UUID;
+
+// Mailleri outbox tablosuna yazar; gönderimi MailOutboxDispatcher yapar.
+// Aynı tekil anahtarla ikinci kez çağrılırsa yeni kayıt açılmaz, böylece aynı mail iki kez gitmez.
 @Service
 public class MailServisi {
 
-    private final WebClient webClient;
+    private final MailOutboxRepository mailOutboxRepository;
+    private final MailSablonServisi mailSablonServisi;
+    private final MetrikServisi metrikServisi;
+
+    public MailServisi(MailOutboxRepository mailOutboxRepository, MailSablonServisi mailSablonServisi,
+            MetrikServisi metrikServisi) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.mailSablonServisi = mailSablonServisi;
+        this.metrikServisi = metrikServisi;
+    }
+
+    // Tekilleştirme gerekmeyen tek seferlik mailler
+    public boolean mailGonder(String email, String baslik, String mesaj) {
+        return kuyrugaAl(UUID.randomUUID().toString(), email, baslik, mesaj);
+    }
 
-    public MailServisi(WebClient.Builder webClientBuilder) {
-        this.webClient = webClientBuilder
-                .baseUrl("http://127.0.0.1:8000")
-                .build();
+    // resources/mail-sablonlari altındaki şablonu alıcıya özel değişkenlerle doldurup kuyruğa alır.
+    // tekilAnahtar kullanıcı + şablon + dönem gibi, aynı mail için her seferinde aynı olmalı.
+    public boolean sablonluGonder(String tekilAnahtar, String email, String sablonAdi, Map<String, ?> degiskenler) {
+        if (mailOutboxRepository.existsByTekilAnahtar(tekilAnahtar)) {
+            metrikServisi.artir("mail.tekrar-engellenen");
+            return false;
+        }
+        MailSablonServisi.Mail mail = mailSablonServisi.render(sablonAdi, degiskenler);
+        return kuyrugaAl(tekilAnahtar, email, mail.getBaslik(), mail.getMesaj());
     }
 
-    public void mailGonder(String email, String baslik, String mesaj) {
-        MailDTO dto = new MailDTO();
-        dto.setEmail(email);
-        dto.setBaslik(baslik);
-        dto.setMesaj(mesaj);
-
-        webClient.post()
-                .uri("/send-mail")
-                .bodyValue(dto)
-                .retrieve()
-                .bodyToMono(String.class)
-                .doOnSuccess(res -> System.out.println("MAIL OK: " + res))
-                .doOnError(err -> System.err.println("MAIL ERROR: " + err.getMessage()))
-                .subscribe();
+    private boolean kuyrugaAl(String tekilAnahtar, String email, String baslik, String mesaj) {
+        try {
+            mailOutboxRepository.save(new MailOutbox(tekilAnahtar, email, baslik, mesaj));
+        } catch (DataIntegrityViolationException e) {
+            // Eşzamanlı iki istek aynı anahtarı yazmaya çalıştı; unique kısıt birini eler
+            metrikServisi.artir("mail.tekrar-engellenen");
+            return false;
+        }
+        metrikServisi.artir("mail.kuyruga-alinan");
+        return true;
     }
 }
@@ -0,0 +1,14 @@
+package com.example.kulup.service;
+
+import com.example.kulup.dto.MailDTO;
+
+import java.io.IOException;
+import java.util.List;
+
+// MailServisi'nin batch'leri teslim ettiği katman; mail.transport ile http (mail-service) veya smtp seçilir
+public interface MailTransport {
+
+    // Sonuç listesi mail sırasıyla döner: null = gönderildi, değilse hata mesajı.
+    // IOException tüm batch'in gönderilemediği anlamına gelir.
+    List<String> gonder(List<MailDTO> mailler) throws IOException, InterruptedException;
+}
@@ -0,0 +1,152 @@
+package com.example.kulup.service;
+
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// Uygulama içi sayaç ve gecikme histogramları; /api/metrikler üzerinden okunur
+@Service
+public class MetrikServisi {
+
+    private final Map<String, LongAdder> sayaclar = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> histogramlar = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> dagilimlar = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gostergeler = new ConcurrentHashMap<>();
+
+    public void artir(String ad) {
+        sayac(ad).increment();
+    }
+
+    public void ekle(String ad, long deger) {
+        sayac(ad).add(deger);
+    }
+
+    public long deger(String ad) {
+        LongAdder sayac = sayaclar.get(ad);
+        return sayac == null ? 0 : sayac.sum();
+    }
+
+    public void sureKaydet(String ad, long milis) {
+        histogramlar.computeIfAbsent(ad, k -> new Histogram()).kaydet(milis);
+    }
+
+    // Süre olmayan değerlerin dağılımı (istek başına deneme sayısı vb.); aynı kovalar, birimsiz özet
+    public void degerKaydet(String ad, long deger) {
+        dagilimlar.computeIfAbsent(ad, k -> new Histogram("")).kaydet(deger);
+    }
+
+    // Anlık değer (kuyruk derinliği vb.); okunduğu anda hesaplanır
+    public void gostergeEkle(String ad, LongSupplier kaynak) {
+        gostergeler.put(ad, kaynak);
+    }
+
+    public Map<String, Object> ozet() {
+        return ozet("");
+    }
+
+    // Yalnızca adı verilen önekle başlayan metrikler
+    public Map<String, Object> ozet(String onEk) {
+        Map<String, Object> sayacOzeti = new TreeMap<>();
+        sayaclar.forEach((ad, sayac) -> {
+            if (ad.startsWith(onEk)) {
+                sayacOzeti.put(ad, sayac.sum());
+            }
+        });
+        Map<String, Object> histogramOzeti = new TreeMap<>();
+        histogramlar.forEach((ad, histogram) -> {
+            if (ad.startsWith(onEk)) {
+                histogramOzeti.put(ad, histogram.ozet());
+            }
+        });
+        Map<String, Object> dagilimOzeti = new TreeMap<>();
+        dagilimlar.forEach((ad, histogram) -> {
+            if (ad.startsWith(onEk)) {
+                dagilimOzeti.put(ad, histogram.ozet());
+            }
+        });
+        Map<String, Object> gostergeOzeti = new TreeMap<>();
+        gostergeler.forEach((ad, kaynak) -> {
+            if (ad.startsWith(onEk)) {
+                gostergeOzeti.put(ad, kaynak.getAsLong());
+            }
+        });
+
+        Map<String, Object> ozet = new LinkedHashMap<>();
+        ozet.put("sayaclar", sayacOzeti);
+        ozet.put("histogramlar", histogramOzeti);
+        ozet.put("dagilimlar", dagilimOzeti);
+        ozet.put("gostergeler", gostergeOzeti);
+        return ozet;
+    }
+
+    private LongAdder sayac(String ad) {
+        return sayaclar.computeIfAbsent(ad, k -> new LongAdder());
+    }
+
+    // Sabit kovalı (ms) gecikme histogramı; yüzdelikler kova üst sınırından tahmin edilir
+    public static class Histogram {
+
+        private static final long[] SINIRLAR = {
+                1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000, 30000, 60000, Long.MAX_VALUE };
+
+        private final AtomicLongArray kovalar = new AtomicLongArray(SINIRLAR.length);
+        private final LongAdder adet = new LongAdder();
+        private final LongAdder toplam = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Long::max, 0);
+        private final String birim;
+
+        public Histogram() {
+            this("Ms");
+        }
+
+        public Histogram(String birim) {
+            this.birim = birim;
+        }
+
+        public void kaydet(long milis) {
+            int i = 0;
+            while (milis > SINIRLAR[i]) {
+                i++;
+            }
+            kovalar.incrementAndGet(i);
+            adet.increment();
+            toplam.add(milis);
+            max.accumulate(milis);
+        }
+
+        public long yuzdelik(double oran) {
+            long n = adet.sum();
+            if (n == 0) {
+                return 0;
+            }
+            long hedef = (long) Math.ceil(n * oran);
+            long birikimli = 0;
+            for (int i = 0; i < SINIRLAR.length; i++) {
+                birikimli += kovalar.get(i);
+                if (birikimli >= hedef) {
+                    return Math.min(SINIRLAR[i], max.get());
+                }
+            }
+            return max.get();
+        }
+
+        public Map<String, Object> ozet() {
+            long n = adet.sum();
+            Map<String, Object> ozet = new LinkedHashMap<>();
+            ozet.put("adet", n);
+            ozet.put("ortalama" + birim, n == 0 ? 0 : toplam.sum() / n);
+            ozet.put("p50" + birim, yuzdelik(0.50));
+            ozet.put("p95" + birim, yuzdelik(0.95));
+            ozet.put("p99" + birim, yuzdelik(0.99));
+            ozet.put("max" + birim, max.get());
+            return ozet;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.kulup.service;
+
+import com.example.kulup.config.OutboundHttpProperties;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Dış servislere giden tüm HTTP çağrıları için ortak katman:
+// hedef başına kalıcı bağlantı havuzu, zaman aşımları, eşzamanlılık sınırı (bulkhead) ve metrikler
+@Service
+public class OutboundHttpClient {
+
+    private final OutboundHttpProperties properties;
+    private final MetrikServisi metrikServisi;
+    private final Map<String, Hedef> hedefler = new ConcurrentHashMap<>();
+
+    public OutboundHttpClient(OutboundHttpProperties properties, MetrikServisi metrikServisi) {
+        this.properties = properties;
+        this.metrikServisi = metrikServisi;
+    }
+
+    public URI uri(String hedef, String yol) {
+        return URI.create(hedef(hedef).ayar.getBaseUrl() + yol);
+    }
+
+    public <T> HttpResponse<T> send(String hedef, HttpRequest.Builder istek, HttpResponse.BodyHandler<T> handler)
+            throws IOException, InterruptedException {
+        Hedef h = hedef(hedef);
+        izinAl(h);
+        long baslangic = System.nanoTime();
+        try {
+            HttpResponse<T> cevap = h.client.send(h.hazirla(istek), handler);
+            kaydet(h, baslangic, cevap, null);
+            return cevap;
+        } catch (IOException | RuntimeException e) {
+            kaydet(h, baslangic, null, e);
+            throw e;
+        } finally {
+            h.bulkhead.release();
+        }
+    }
+
+    public HttpResponse<String> send(String hedef, HttpRequest.Builder istek)
+            throws IOException, InterruptedException {
+        return send(hedef, istek, HttpResponse.BodyHandlers.ofString());
+    }
+
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(String hedef, HttpRequest.Builder istek,
+            HttpResponse.BodyHandler<T> handler) {
+        Hedef h = hedef(hedef);
+        try {
+            izinAl(h);
+        } catch (IOException | InterruptedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        long baslangic = System.nanoTime();
+        CompletableFuture<HttpResponse<T>> cevap;
+        try {
+            cevap = h.client.sendAsync(h.hazirla(istek), handler);
+        } catch (RuntimeException e) {
+            // İstek hiç başlamadı; izin burada bırakılmazsa hedefin kapasitesi kalıcı olarak azalır
+            h.bulkhead.release();
+            kaydet(h, baslangic, null, e);
+            return CompletableFuture.failedFuture(e);
+        }
+        return cevap.whenComplete((sonuc, hata) -> {
+            h.bulkhead.release();
+            kaydet(h, baslangic, sonuc, hata);
+        });
+    }
+
+    private void izinAl(Hedef h) throws IOException, InterruptedException {
+        if (!h.bulkhead.tryAcquire(h.ayar.getBulkheadWait().toMillis(), TimeUnit.MILLISECONDS)) {
+            metrikServisi.artir("http." + h.ad + ".reddedilen");
+            throw new HedefMesgulException(h.ad);
+        }
+    }
+
+    private void kaydet(Hedef h, long baslangic, HttpResponse<?> cevap, Throwable hata) {
+        metrikServisi.sureKaydet("http." + h.ad + ".sure", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - baslangic));
+        if (hata != null) {
+            metrikServisi.artir("http." + h.ad + ".hata");
+        } else {
+            metrikServisi.artir("http." + h.ad + ".status." + (cevap.statusCode() / 100) + "xx");
+        }
+    }
+
+    private Hedef hedef(String ad) {
+        return hedefler.computeIfAbsent(ad, k -> {
+            OutboundHttpProperties.Hedef ayar = properties.getHedef().get(k);
+            if (ayar == null || ayar.getBaseUrl() == null) {
+                throw new IllegalStateException("Tanımsız dış servis hedefi: " + k);
+            }
+            return new Hedef(k, ayar);
+        });
+    }
+
+    private static class Hedef {
+        private final String ad;
+        private final OutboundHttpProperties.Hedef ayar;
+        private final HttpClient client;
+        private final Semaphore bulkhead;
+
+        private Hedef(String ad, OutboundHttpProperties.Hedef ayar) {
+            this.ad = ad;
+            this.ayar = ayar;
+            this.client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.valueOf(ayar.getHttpVersion()))
+                    .connectTimeout(ayar.getConnectTimeout())
+                    .followRedirects(HttpClient.Redirect.NORMAL)
+                    .build();
+            this.bulkhead = new Semaphore(ayar.getMaxConcurrent());
+        }
+
+        private HttpRequest hazirla(HttpRequest.Builder istek) {
+            return istek.timeout(ayar.getReadTimeout()).build();
+        }
+    }
+
+    // Hedefin eşzamanlı istek sınırı dolu; çağıran geçici hata olarak ele almalı
+    public static class HedefMesgulException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public HedefMesgulException(String hedef) {
+            super("Dış servis meşgul: " + hedef);
+        }
+    }
+}
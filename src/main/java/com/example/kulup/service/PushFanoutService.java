@@ -0,0 +1,123 @@
+package com.example.kulup.service;
+
+import com.example.kulup.model.BildirimOutbox;
+import com.example.kulup.repository.BildirimOutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+// Kulüp geneli bildirimleri outbox tablosuna yazar; gönderimi PushOutboxDispatcher yapar
+@Service
+public class PushFanoutService {
+
+    private final BildirimOutboxRepository bildirimOutboxRepository;
+    private final long birlestirmePenceresi;
+    private final int birlestirmeMaxBoyut;
+
+    public PushFanoutService(BildirimOutboxRepository bildirimOutboxRepository,
+            @Value("${push.birlestirme.pencere-sn:60}") long birlestirmePenceresi,
+            @Value("${push.birlestirme.max-boyut:5}") int birlestirmeMaxBoyut) {
+        this.bildirimOutboxRepository = bildirimOutboxRepository;
+        this.birlestirmePenceresi = birlestirmePenceresi;
+        this.birlestirmeMaxBoyut = birlestirmeMaxBoyut;
+    }
+
+    @Transactional
+    public String etkinlikBildirimiBaslat(Collection<String> tokens, String etkinlikBaslik, String kulupAd) {
+        return kuyrugaAl(tokens, "📅 Yeni Etkinlik", kulupAd + " kulübünde yeni etkinlik: " + etkinlikBaslik, true);
+    }
+
+    @Transactional
+    public String gorevBildirimiBaslat(String token, String gorevBaslik, String atayanAd) {
+        return kuyrugaAl(List.of(token), "📋 Yeni Görev Atandı", atayanAd + " size bir görev verdi: " + gorevBaslik, true);
+    }
+
+    // Çağıranın transaction'ına katılır; insert geri alınırsa bildirimler de gönderilmez
+    @Transactional
+    public String baslat(Collection<String> tokens, String title, String body) {
+        return kuyrugaAl(tokens, title, body, false);
+    }
+
+    private String kuyrugaAl(Collection<String> tokens, String title, String body, boolean birlestir) {
+        String isId = UUID.randomUUID().toString();
+        List<BildirimOutbox> kayitlar = new ArrayList<>();
+        for (String token : new LinkedHashSet<>(tokens)) {
+            if (token != null && !token.isBlank()) {
+                kayitlar.add(new BildirimOutbox(isId, token, title, body));
+            }
+        }
+        if (birlestir && birlestirmePenceresi > 0 && !kayitlar.isEmpty()) {
+            pencereyeAl(kayitlar);
+        }
+        bildirimOutboxRepository.saveAll(kayitlar);
+        return isId;
+    }
+
+    // Kullanıcının ilk bildirimi pencere kadar bekletilir, sonrakiler aynı zamana bağlanır;
+    // bekleyen sayısı sınıra ulaşınca hepsi hemen gönderilir
+    private void pencereyeAl(List<BildirimOutbox> kayitlar) {
+        LocalDateTime simdi = LocalDateTime.now();
+        Map<String, Object[]> bekleyenler = new HashMap<>();
+        for (Object[] satir : bildirimOutboxRepository.bekleyenBirlesikOzet(
+                kayitlar.stream().map(BildirimOutbox::getToken).toList())) {
+            bekleyenler.put((String) satir[0], satir);
+        }
+
+        Set<String> hemenGonderilecek = new LinkedHashSet<>();
+        for (BildirimOutbox kayit : kayitlar) {
+            kayit.setBirlestirilebilir(true);
+            Object[] bekleyen = bekleyenler.get(kayit.getToken());
+            long bekleyenSayisi = bekleyen == null ? 0 : ((Number) bekleyen[2]).longValue();
+            if (bekleyenSayisi + 1 >= birlestirmeMaxBoyut) {
+                kayit.setSonrakiDeneme(simdi);
+                hemenGonderilecek.add(kayit.getToken());
+            } else if (bekleyen != null) {
+                kayit.setSonrakiDeneme((LocalDateTime) bekleyen[1]);
+            } else {
+                kayit.setSonrakiDeneme(simdi.plusSeconds(birlestirmePenceresi));
+            }
+        }
+        if (!hemenGonderilecek.isEmpty()) {
+            bildirimOutboxRepository.birlesikleriOneAl(hemenGonderilecek, simdi);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> durum(String isId) {
+        List<Object[]> sayilar = bildirimOutboxRepository.countByIsIdGroupByDurum(isId);
+        if (sayilar.isEmpty()) {
+            return Optional.empty();
+        }
+        long gonderilen = 0;
+        long basarisiz = 0;
+        long bekleyen = 0;
+        for (Object[] satir : sayilar) {
+            long sayi = ((Number) satir[1]).longValue();
+            switch ((String) satir[0]) {
+                case "GONDERILDI" -> gonderilen += sayi;
+                case "ZEHIRLI" -> basarisiz += sayi;
+                default -> bekleyen += sayi;
+            }
+        }
+        Map<String, Object> durum = new LinkedHashMap<>();
+        durum.put("isId", isId);
+        durum.put("toplam", gonderilen + basarisiz + bekleyen);
+        durum.put("gonderilen", gonderilen);
+        durum.put("basarisiz", basarisiz);
+        durum.put("bekleyen", bekleyen);
+        durum.put("tamamlandi", bekleyen == 0);
+        return Optional.of(durum);
+    }
+}
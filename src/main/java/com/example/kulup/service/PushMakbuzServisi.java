@@ -0,0 +1,121 @@
+package com.example.kulup.service;
+
+import com.example.kulup.dto.PushTicket;
+import com.example.kulup.model.BildirimOutbox;
+import com.example.kulup.repository.BildirimOutboxRepository;
+import com.example.kulup.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Gönderilen bildirimlerin Expo makbuzlarını toplu çeker ve artık kayıtlı olmayan cihaz token'larını temizler
+@Service
+public class PushMakbuzServisi {
+
+    // Expo makbuzları 24 saat saklıyor; daha eski ticket'lar için cevap gelmez
+    private static final long MAKBUZ_OMRU_SAAT = 24;
+    // BildirimOutbox.sonHata sütun uzunluğu
+    private static final int MAX_HATA_UZUNLUGU = 500;
+
+    private final BildirimOutboxRepository bildirimOutboxRepository;
+    private final UserRepository userRepository;
+    private final PushNotificationService pushNotificationService;
+    private final long bekleme;
+
+    private final AtomicLong toplamTemizlenen = new AtomicLong();
+    private volatile Map<String, Object> sonCalisma = Map.of();
+
+    public PushMakbuzServisi(BildirimOutboxRepository bildirimOutboxRepository,
+            UserRepository userRepository,
+            PushNotificationService pushNotificationService,
+            @Value("${push.makbuz.bekleme-dakika:15}") long bekleme) {
+        this.bildirimOutboxRepository = bildirimOutboxRepository;
+        this.userRepository = userRepository;
+        this.pushNotificationService = pushNotificationService;
+        this.bekleme = bekleme;
+    }
+
+    @Scheduled(fixedDelayString = "${push.makbuz.poll-ms:60000}")
+    @Transactional
+    public void makbuzlariKontrolEt() {
+        LocalDateTime simdi = LocalDateTime.now();
+        List<BildirimOutbox> kayitlar = bildirimOutboxRepository.makbuzuSorulacaklar(simdi.minusMinutes(bekleme),
+                PageRequest.of(0, PushNotificationService.EXPO_RECEIPT_LIMIT));
+        if (kayitlar.isEmpty()) {
+            return;
+        }
+
+        Map<String, PushTicket> makbuzlar = pushNotificationService.fetchReceipts(
+                kayitlar.stream().map(BildirimOutbox::getTicketId).toList());
+
+        Set<String> oluTokenlar = new LinkedHashSet<>();
+        int hatali = 0;
+        for (BildirimOutbox kayit : kayitlar) {
+            PushTicket makbuz = makbuzlar.get(kayit.getTicketId());
+            if (makbuz == null) {
+                // Makbuz henüz hazır değil; çok eskiyse bir daha sormaya gerek yok
+                if (kayit.getGonderimTarihi().isBefore(simdi.minusHours(MAKBUZ_OMRU_SAAT))) {
+                    kayit.setMakbuzKontrolEdildi(true);
+                }
+                kayit.setMakbuzSonKontrol(simdi);
+                continue;
+            }
+            kayit.setMakbuzKontrolEdildi(true);
+            kayit.setMakbuzSonKontrol(simdi);
+            if (!makbuz.basarili()) {
+                hatali++;
+                kayit.setSonHata(kisalt(makbuz.getHata() + ": " + makbuz.getMesaj()));
+                if (makbuz.cihazKayitliDegil()) {
+                    oluTokenlar.add(kayit.getToken());
+                }
+            }
+        }
+
+        int temizlenen = tokenlariTemizle(oluTokenlar);
+
+        Map<String, Object> calisma = new LinkedHashMap<>();
+        calisma.put("zaman", simdi.toString());
+        calisma.put("kontrolEdilen", kayitlar.size());
+        calisma.put("makbuzAlinan", makbuzlar.size());
+        calisma.put("hatali", hatali);
+        calisma.put("temizlenenToken", temizlenen);
+        sonCalisma = calisma;
+    }
+
+    // DeviceNotRegistered dönen token'ları tek UPDATE ile kullanıcılardan siler
+    @Transactional
+    public int tokenlariTemizle(Collection<String> tokens) {
+        if (tokens.isEmpty()) {
+            return 0;
+        }
+        int temizlenen = userRepository.clearExpoPushTokens(tokens);
+        bildirimOutboxRepository.zehirliIsaretleByTokenIn(tokens);
+        toplamTemizlenen.addAndGet(temizlenen);
+        if (temizlenen > 0) {
+            System.out.println("Geçersiz push token temizlendi: " + temizlenen);
+        }
+        return temizlenen;
+    }
+
+    private static String kisalt(String metin) {
+        return metin.length() > MAX_HATA_UZUNLUGU ? metin.substring(0, MAX_HATA_UZUNLUGU) : metin;
+    }
+
+    public Map<String, Object> durum() {
+        Map<String, Object> durum = new LinkedHashMap<>();
+        durum.put("toplamTemizlenenToken", toplamTemizlenen.get());
+        durum.put("sonCalisma", sonCalisma);
+        return durum;
+    }
+}
@@ -1,15 +1,38 @@
 package com.example.kulup.service;
 
+import com.example.kulup.dto.PushTicket;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Service;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
 public class PushNotificationService {
 
-    private static final String EXPO_PUSH_URL = "https://exp.host/--/api/v2/push/send";
+    private static final String HEDEF = "expo";
+    private static final String EXPO_PUSH_PATH = "/--/api/v2/push/send";
+    private static final String EXPO_RECEIPT_PATH = "/--/api/v2/push/getReceipts";
+
+    // Expo tek istekte en fazla 100 mesaj kabul ediyor
+    public static final int EXPO_BATCH_LIMIT = 100;
+
+    // getReceipts tek istekte en fazla 1000 ticket id kabul ediyor
+    public static final int EXPO_RECEIPT_LIMIT = 1000;
+
+    private final ObjectMapper objectMapper;
+    private final OutboundHttpClient outboundHttpClient;
+
+    public PushNotificationService(ObjectMapper objectMapper, OutboundHttpClient outboundHttpClient) {
+        this.objectMapper = objectMapper;
+        this.outboundHttpClient = outboundHttpClient;
+    }
 
     public boolean sendPushNotification(String expoPushToken, String title, String body) {
         if (expoPushToken == null || expoPushToken.isEmpty()) {
@@ -18,23 +41,13 @@ public class PushNotificationService {
         }
 
         try {
-            URL url = new URL(EXPO_PUSH_URL);
-            HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-            conn.setRequestMethod("POST");
-            conn.setRequestProperty("Content-Type", "application/json");
-            conn.setRequestProperty("Accept", "application/json");
-            conn.setDoOutput(true);
-
-            String jsonPayload = String.format(
-                    "{\"to\":\"%s\",\"title\":\"%s\",\"body\":\"%s\",\"sound\":\"default\"}",
-                    expoPushToken, title, body);
-
-            try (OutputStream os = conn.getOutputStream()) {
-                byte[] input = jsonPayload.getBytes(StandardCharsets.UTF_8);
-                os.write(input, 0, input.length);
-            }
+            Map<String, Object> mesaj = new LinkedHashMap<>();
+            mesaj.put("to", expoPushToken);
+            mesaj.put("title", title);
+            mesaj.put("body", body);
+            mesaj.put("sound", "default");
 
-            int responseCode = conn.getResponseCode();
+            int responseCode = post(EXPO_PUSH_PATH, objectMapper.writeValueAsBytes(mesaj)).statusCode();
             System.out.println("Push bildirim gönderildi: " + responseCode + " - " + expoPushToken);
             return responseCode == 200;
 
@@ -44,6 +57,97 @@ public class PushNotificationService {
         }
     }
 
+    // Aynı bildirimi en fazla 100 tokene tek istekte gönderir; her token için sırasıyla bir ticket döner
+    public List<PushTicket> sendBatch(List<String> expoPushTokens, String title, String body) {
+        if (expoPushTokens == null || expoPushTokens.isEmpty()) {
+            return List.of();
+        }
+        if (expoPushTokens.size() > EXPO_BATCH_LIMIT) {
+            throw new IllegalArgumentException("Expo batch limiti aşıldı: " + expoPushTokens.size());
+        }
+
+        try {
+            List<Map<String, Object>> mesajlar = new ArrayList<>(expoPushTokens.size());
+            for (String token : expoPushTokens) {
+                Map<String, Object> mesaj = new LinkedHashMap<>();
+                mesaj.put("to", token);
+                mesaj.put("title", title);
+                mesaj.put("body", body);
+                mesaj.put("sound", "default");
+                mesajlar.add(mesaj);
+            }
+            HttpResponse<byte[]> response = post(EXPO_PUSH_PATH, objectMapper.writeValueAsBytes(mesajlar));
+
+            int responseCode = response.statusCode();
+            if (responseCode != 200) {
+                System.out.println("Push batch hatası: " + responseCode + " (" + expoPushTokens.size() + " mesaj)");
+                PushTicket hata = responseCode == 429 || responseCode >= 500
+                        ? PushTicket.iletimHatasi("HTTP " + responseCode)
+                        : new PushTicket("error", null, "HTTP_" + responseCode, "Expo isteği reddetti");
+                return Collections.nCopies(expoPushTokens.size(), hata);
+            }
+
+            List<PushTicket> tickets = new ArrayList<>(expoPushTokens.size());
+            for (JsonNode ticket : objectMapper.readTree(response.body()).path("data")) {
+                tickets.add(new PushTicket(
+                        ticket.path("status").asText(""),
+                        ticket.path("id").asText(null),
+                        ticket.path("details").path("error").asText(null),
+                        ticket.path("message").asText(null)));
+            }
+            if (tickets.size() != expoPushTokens.size()) {
+                return Collections.nCopies(expoPushTokens.size(),
+                        PushTicket.iletimHatasi("Beklenmeyen ticket sayısı: " + tickets.size()));
+            }
+            return tickets;
+
+        } catch (Exception e) {
+            System.out.println("Push batch hatası: " + e.getMessage());
+            return Collections.nCopies(expoPushTokens.size(), PushTicket.iletimHatasi(e.getMessage()));
+        }
+    }
+
+    // Ticket id'lerine ait makbuzları toplu çeker; henüz hazır olmayan id'ler sonuçta yer almaz
+    public Map<String, PushTicket> fetchReceipts(List<String> ticketIds) {
+        if (ticketIds == null || ticketIds.isEmpty()) {
+            return Map.of();
+        }
+        if (ticketIds.size() > EXPO_RECEIPT_LIMIT) {
+            throw new IllegalArgumentException("Expo makbuz limiti aşıldı: " + ticketIds.size());
+        }
+
+        try {
+            HttpResponse<byte[]> response = post(EXPO_RECEIPT_PATH, objectMapper.writeValueAsBytes(Map.of("ids", ticketIds)));
+            if (response.statusCode() != 200) {
+                System.out.println("Push makbuz hatası: " + response.statusCode());
+                return Map.of();
+            }
+
+            Map<String, PushTicket> makbuzlar = new LinkedHashMap<>();
+            objectMapper.readTree(response.body()).path("data").fields().forEachRemaining(entry -> {
+                JsonNode makbuz = entry.getValue();
+                makbuzlar.put(entry.getKey(), new PushTicket(
+                        makbuz.path("status").asText(""),
+                        entry.getKey(),
+                        makbuz.path("details").path("error").asText(null),
+                        makbuz.path("message").asText(null)));
+            });
+            return makbuzlar;
+
+        } catch (Exception e) {
+            System.out.println("Push makbuz hatası: " + e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private HttpResponse<byte[]> post(String path, byte[] payload) throws IOException, InterruptedException {
+        HttpRequest.Builder istek = HttpRequest.newBuilder(outboundHttpClient.uri(HEDEF, path))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(payload));
+        return outboundHttpClient.send(HEDEF, istek, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
     public void sendGorevBildirimi(String expoPushToken, String gorevBaslik, String atayanAd) {
         sendPushNotification(
                 expoPushToken,
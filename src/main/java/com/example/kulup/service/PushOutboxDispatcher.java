@@ -0,0 +1,235 @@
+package com.example.kulup.service;
+
+import com.example.kulup.dto.PushTicket;
+import com.example.kulup.model.BildirimOutbox;
+import com.example.kulup.repository.BildirimOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Outbox'taki bekleyen bildirimleri batch'ler halinde Expo'ya gönderir, geçici hatalarda geri çekilerek tekrar dener
+@Service
+public class PushOutboxDispatcher {
+
+    private static final int MAX_HATA_UZUNLUGU = 500;
+    private static final int MAX_OZET_UZUNLUGU = 900;
+
+    private final BildirimOutboxRepository bildirimOutboxRepository;
+    private final PushNotificationService pushNotificationService;
+    private final PushMakbuzServisi pushMakbuzServisi;
+    private final MetrikServisi metrikServisi;
+    private final ThreadPoolExecutor executor;
+    private final int batchSize;
+    private final int maxDeneme;
+    private final long baseBackoffMs;
+    private final long maxBackoffMs;
+
+    public PushOutboxDispatcher(BildirimOutboxRepository bildirimOutboxRepository,
+            PushNotificationService pushNotificationService,
+            PushMakbuzServisi pushMakbuzServisi,
+            MetrikServisi metrikServisi,
+            @Value("${push.fanout.threads:4}") int threads,
+            @Value("${push.fanout.queue-capacity:1000}") int queueCapacity,
+            @Value("${push.outbox.batch-size:500}") int batchSize,
+            @Value("${push.outbox.max-deneme:6}") int maxDeneme,
+            @Value("${push.outbox.base-backoff-ms:5000}") long baseBackoffMs,
+            @Value("${push.outbox.max-backoff-ms:600000}") long maxBackoffMs) {
+        this.bildirimOutboxRepository = bildirimOutboxRepository;
+        this.pushNotificationService = pushNotificationService;
+        this.pushMakbuzServisi = pushMakbuzServisi;
+        this.metrikServisi = metrikServisi;
+        this.batchSize = batchSize;
+        this.maxDeneme = maxDeneme;
+        this.baseBackoffMs = baseBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        AtomicInteger sayac = new AtomicInteger();
+        // Kuyruk dolarsa batch'i zamanlayıcı thread'i gönderir, böylece çekme hızı gönderim hızına uyar
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "push-fanout-" + sayac.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    // Sayfa dolu geldikçe beklemeden devam eder; büyük yayınlar poll aralığına takılmaz
+    @Scheduled(fixedDelayString = "${push.outbox.poll-ms:2000}")
+    public void bosalt() {
+        while (birTur() >= batchSize) {
+            // kuyruk boşalana kadar devam
+        }
+    }
+
+    private int birTur() {
+        LocalDateTime simdi = LocalDateTime.now();
+        List<BildirimOutbox> kayitlar = bildirimOutboxRepository.findByDurumAndSonrakiDenemeLessThanEqualOrderByIdAsc(
+                "BEKLEMEDE", simdi, PageRequest.of(0, batchSize));
+        if (kayitlar.isEmpty()) {
+            return 0;
+        }
+
+        // Aynı başlık/mesaja sahip gönderimler tek Expo isteğinde gidebilir
+        Map<String, List<Gonderim>> gruplar = new LinkedHashMap<>();
+        List<BildirimOutbox> kaydedilecek = new ArrayList<>();
+        for (Gonderim gonderim : gonderimleriHazirla(kayitlar, simdi)) {
+            gruplar.computeIfAbsent(gonderim.baslik + '\u0000' + gonderim.mesaj, k -> new ArrayList<>()).add(gonderim);
+            kaydedilecek.addAll(gonderim.kayitlar);
+        }
+
+        Set<String> oluTokenlar = ConcurrentHashMap.newKeySet();
+        List<Future<?>> gonderimler = new ArrayList<>();
+        for (List<Gonderim> grup : gruplar.values()) {
+            for (int i = 0; i < grup.size(); i += PushNotificationService.EXPO_BATCH_LIMIT) {
+                List<Gonderim> parca = grup.subList(i,
+                        Math.min(i + PushNotificationService.EXPO_BATCH_LIMIT, grup.size()));
+                gonderimler.add(executor.submit(() -> gonder(parca, oluTokenlar)));
+            }
+        }
+        for (Future<?> gonderim : gonderimler) {
+            try {
+                gonderim.get();
+            } catch (Exception e) {
+                System.out.println("Push outbox gönderim hatası: " + e.getMessage());
+            }
+        }
+
+        bildirimOutboxRepository.saveAll(kaydedilecek);
+        pushMakbuzServisi.tokenlariTemizle(oluTokenlar);
+        return kayitlar.size();
+    }
+
+    // Birleştirilebilir kayıtlarda, zamanı gelen bir kayıt o kullanıcının zamanı gelmiş diğer kayıtlarını
+    // tek özet bildirimde beraber gönderir; geri çekilmedeki kayıtlar kendi zamanlarını bekler
+    private List<Gonderim> gonderimleriHazirla(List<BildirimOutbox> kayitlar, LocalDateTime simdi) {
+        List<Gonderim> gonderimler = new ArrayList<>();
+        Map<Long, BildirimOutbox> birlesikler = new LinkedHashMap<>();
+        for (BildirimOutbox kayit : kayitlar) {
+            if (Boolean.TRUE.equals(kayit.getBirlestirilebilir())) {
+                birlesikler.put(kayit.getId(), kayit);
+            } else {
+                gonderimler.add(new Gonderim(kayit.getToken(), kayit.getBaslik(), kayit.getMesaj(), List.of(kayit)));
+            }
+        }
+        if (birlesikler.isEmpty()) {
+            return gonderimler;
+        }
+
+        Set<String> tokens = new LinkedHashSet<>();
+        birlesikler.values().forEach(kayit -> tokens.add(kayit.getToken()));
+        for (BildirimOutbox kayit : bildirimOutboxRepository
+                .findByDurumAndBirlestirilebilirTrueAndTokenInAndSonrakiDenemeLessThanEqual("BEKLEMEDE", tokens, simdi)) {
+            birlesikler.putIfAbsent(kayit.getId(), kayit);
+        }
+
+        Map<String, List<BildirimOutbox>> tokenBazli = new LinkedHashMap<>();
+        for (BildirimOutbox kayit : birlesikler.values()) {
+            tokenBazli.computeIfAbsent(kayit.getToken(), k -> new ArrayList<>()).add(kayit);
+        }
+        tokenBazli.forEach((token, grup) -> {
+            if (grup.size() == 1) {
+                BildirimOutbox kayit = grup.get(0);
+                gonderimler.add(new Gonderim(token, kayit.getBaslik(), kayit.getMesaj(), grup));
+                return;
+            }
+            StringBuilder ozet = new StringBuilder();
+            for (BildirimOutbox kayit : grup) {
+                if (ozet.length() > 0) {
+                    ozet.append('\n');
+                }
+                ozet.append(kayit.getMesaj());
+            }
+            gonderimler.add(new Gonderim(token, "🔔 " + grup.size() + " yeni bildirim",
+                    kisalt(ozet.toString(), MAX_OZET_UZUNLUGU), grup));
+        });
+        return gonderimler;
+    }
+
+    private void gonder(List<Gonderim> parca, Set<String> oluTokenlar) {
+        Gonderim ilk = parca.get(0);
+        List<String> tokens = parca.stream().map(gonderim -> gonderim.token).toList();
+        List<PushTicket> tickets = pushNotificationService.sendBatch(tokens, ilk.baslik, ilk.mesaj);
+
+        LocalDateTime simdi = LocalDateTime.now();
+        for (int i = 0; i < parca.size(); i++) {
+            PushTicket ticket = tickets.get(i);
+            if (ticket.cihazKayitliDegil()) {
+                oluTokenlar.add(parca.get(i).token);
+            }
+            // Özetin kazandırdığı mesaj sayısı; tekrar denenen özet yalnızca gittiğinde sayılır
+            if (ticket.basarili() && parca.get(i).kayitlar.size() > 1) {
+                metrikServisi.ekle("push.birlestirilen", parca.get(i).kayitlar.size() - 1);
+            }
+            for (BildirimOutbox kayit : parca.get(i).kayitlar) {
+                sonucuIsle(kayit, ticket, simdi);
+            }
+        }
+    }
+
+    private void sonucuIsle(BildirimOutbox kayit, PushTicket ticket, LocalDateTime simdi) {
+        kayit.setDenemeSayisi(kayit.getDenemeSayisi() + 1);
+        if (ticket.basarili()) {
+            kayit.setDurum("GONDERILDI");
+            kayit.setGonderimTarihi(simdi);
+            kayit.setTicketId(ticket.getId());
+            kayit.setSonHata(null);
+            return;
+        }
+
+        kayit.setSonHata(kisalt(ticket.getHata() + ": " + ticket.getMesaj(), MAX_HATA_UZUNLUGU));
+        if (!ticket.gecici() || kayit.getDenemeSayisi() >= maxDeneme) {
+            kayit.setDurum("ZEHIRLI");
+        } else {
+            kayit.setSonrakiDeneme(simdi.plus(Duration.ofMillis(geriCekilme(kayit.getDenemeSayisi()))));
+        }
+    }
+
+    // Üstel geri çekilme + jitter: [taban/2, taban] aralığında rastgele bekleme
+    private long geriCekilme(int deneme) {
+        long taban = Math.min(maxBackoffMs, baseBackoffMs << Math.min(deneme - 1, 20));
+        return taban / 2 + ThreadLocalRandom.current().nextLong(taban / 2 + 1);
+    }
+
+    private String kisalt(String metin, int uzunluk) {
+        return metin.length() > uzunluk ? metin.substring(0, uzunluk) : metin;
+    }
+
+    @PreDestroy
+    public void kapat() {
+        executor.shutdown();
+    }
+
+    // Expo'ya tek mesaj olarak gidecek birim; özet bildirimde birden fazla outbox kaydını taşır
+    private static class Gonderim {
+        private final String token;
+        private final String baslik;
+        private final String mesaj;
+        private final List<BildirimOutbox> kayitlar;
+
+        private Gonderim(String token, String baslik, String mesaj, List<BildirimOutbox> kayitlar) {
+            this.token = token;
+            this.baslik = baslik;
+            this.mesaj = mesaj;
+            this.kayitlar = kayitlar;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.kulup.service;
+
+import com.example.kulup.dto.MailDTO;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// mail-service'i atlayıp doğrudan SMTP'ye gönderir. Kimliği doğrulanmış bağlantılar havuzda açık tutulur,
+// her batch tek oturumda gider; böylece mail başına TLS el sıkışması ve login yapılmaz. Havuzdan alınan bağlantı
+// yalnızca bir süre boşta kaldıysa NOOP ile yoklanır; gönderim sırasında kopan bağlantı yeniden kurulup bir kez denenir.
+@Service
+@ConditionalOnProperty(name = "mail.transport", havingValue = "smtp")
+public class SmtpMailTransport implements MailTransport {
+
+    private final Session session;
+    private final MetrikServisi metrikServisi;
+    private final String host;
+    private final int port;
+    private final String kullanici;
+    private final String sifre;
+    private final InternetAddress gonderen;
+    private final int maxMesajOturum;
+    private final long bostaKontrolNanos;
+    private final BlockingQueue<Baglanti> havuz;
+
+    public SmtpMailTransport(MetrikServisi metrikServisi,
+            @Value("${mail.smtp.host:127.0.0.1}") String host,
+            @Value("${mail.smtp.port:587}") int port,
+            @Value("${mail.smtp.kullanici:}") String kullanici,
+            @Value("${mail.smtp.sifre:}") String sifre,
+            @Value("${mail.smtp.gonderen:}") String gonderen,
+            @Value("${mail.smtp.starttls:true}") boolean starttls,
+            @Value("${mail.smtp.zaman-asimi-ms:10000}") int zamanAsimiMs,
+            @Value("${mail.smtp.havuz-boyutu:2}") int havuzBoyutu,
+            @Value("${mail.smtp.max-mesaj-oturum:500}") int maxMesajOturum,
+            @Value("${mail.smtp.bosta-kontrol-ms:30000}") long bostaKontrolMs) throws MessagingException {
+        this.metrikServisi = metrikServisi;
+        this.host = host;
+        this.port = port;
+        this.kullanici = kullanici;
+        this.sifre = sifre;
+        this.gonderen = new InternetAddress(!gonderen.isBlank() ? gonderen : !kullanici.isBlank() ? kullanici : "noreply@localhost");
+        this.maxMesajOturum = maxMesajOturum;
+        this.bostaKontrolNanos = bostaKontrolMs * 1_000_000;
+        this.havuz = new ArrayBlockingQueue<>(havuzBoyutu);
+
+        Properties props = new Properties();
+        props.put("mail.smtp.auth", String.valueOf(!kullanici.isBlank()));
+        props.put("mail.smtp.starttls.enable", String.valueOf(starttls));
+        props.put("mail.smtp.starttls.required", String.valueOf(starttls));
+        props.put("mail.smtp.connectiontimeout", String.valueOf(zamanAsimiMs));
+        props.put("mail.smtp.timeout", String.valueOf(zamanAsimiMs));
+        props.put("mail.smtp.writetimeout", String.valueOf(zamanAsimiMs));
+        this.session = Session.getInstance(props);
+    }
+
+    @Override
+    public List<String> gonder(List<MailDTO> mailler) throws IOException {
+        Baglanti baglanti = havuz.poll();
+        if (baglanti == null) {
+            baglanti = new Baglanti();
+        } else {
+            baglanti.yokla();
+        }
+        List<String> hatalar = new ArrayList<>(mailler.size());
+        try {
+            for (MailDTO mail : mailler) {
+                hatalar.add(tekGonder(baglanti, mail));
+            }
+        } catch (MessagingException e) {
+            baglanti.kapat();
+            // Bağlantı kurulamadıysa henüz denenmeyen mailler de başarısız sayılır
+            while (hatalar.size() < mailler.size()) {
+                hatalar.add("SMTP bağlantı hatası: " + e.getMessage());
+            }
+            if (hatalar.stream().allMatch(h -> h != null)) {
+                throw new IOException("SMTP bağlantı hatası: " + e.getMessage(), e);
+            }
+        } finally {
+            baglanti.sonKullanim = System.nanoTime();
+            if (!havuz.offer(baglanti)) {
+                baglanti.kapat();
+            }
+        }
+        return hatalar;
+    }
+
+    // Alıcıya özgü ret null olmayan sonuç döner; bağlantı hatasında bir kez yeniden bağlanıp tekrar dener
+    private String tekGonder(Baglanti baglanti, MailDTO mail) throws MessagingException {
+        MimeMessage mesaj;
+        try {
+            mesaj = mesajOlustur(mail);
+        } catch (MessagingException e) {
+            return "Geçersiz mail: " + e.getMessage();
+        }
+        for (int deneme = 1; ; deneme++) {
+            try {
+                baglanti.hazirla();
+                baglanti.transport.sendMessage(mesaj, mesaj.getAllRecipients());
+                baglanti.gonderilen++;
+                return null;
+            } catch (SendFailedException e) {
+                return e.getMessage() != null ? e.getMessage() : "Alıcı reddedildi";
+            } catch (MessagingException e) {
+                baglanti.kapat();
+                if (deneme >= 2) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private MimeMessage mesajOlustur(MailDTO mail) throws MessagingException {
+        MimeMessage mesaj = new MimeMessage(session);
+        mesaj.setFrom(gonderen);
+        mesaj.setRecipient(Message.RecipientType.TO, new InternetAddress(mail.getEmail()));
+        mesaj.setSubject(mail.getBaslik(), StandardCharsets.UTF_8.name());
+        mesaj.setText(mail.getMesaj(), StandardCharsets.UTF_8.name());
+        return mesaj;
+    }
+
+    @PreDestroy
+    public void kapat() {
+        Baglanti baglanti;
+        while ((baglanti = havuz.poll()) != null) {
+            baglanti.kapat();
+        }
+    }
+
+    private class Baglanti {
+        private Transport transport;
+        private int gonderilen;
+        private long sonKullanim;
+
+        // isConnected() sunucuya NOOP gönderip yanıt bekler; her mailde değil, uzun süre boşta kalmış bağlantıda yapılır
+        private void yokla() {
+            if (transport != null && System.nanoTime() - sonKullanim >= bostaKontrolNanos && !transport.isConnected()) {
+                kapat();
+            }
+        }
+
+        // Kapalı ya da oturum sınırını aşmış bağlantıyı yeniler
+        private void hazirla() throws MessagingException {
+            if (transport != null && gonderilen >= maxMesajOturum) {
+                kapat();
+            }
+            if (transport == null) {
+                // Bağlanamayan transport alana yazılmaz, sonraki deneme yeniden bağlanır
+                Transport yeni = session.getTransport("smtp");
+                yeni.connect(host, port, kullanici.isBlank() ? null : kullanici, sifre.isBlank() ? null : sifre);
+                transport = yeni;
+                metrikServisi.artir("mail.smtp.baglanti");
+            }
+        }
+
+        private void kapat() {
+            if (transport != null) {
+                try {
+                    transport.close();
+                } catch (MessagingException ignored) {
+                    // zaten kopmuş
+                }
+                transport = null;
+            }
+            gonderilen = 0;
+        }
+    }
+}
@@ -27,6 +27,31 @@ document.addEventListener('DOMContentLoaded', () => {
         msg.textContent = text;
         messages.appendChild(msg);
         messages.scrollTop = messages.scrollHeight;
+        return msg;
+    };
+
+    const updateMessage = (msg, text) => {
+        msg.textContent = text;
+        messages.scrollTop = messages.scrollHeight;
+    };
+
+    const parseSseEvent = (block) => {
+        let name = 'message';
+        const dataLines = [];
+        block.split(/\r?\n/).forEach((line) => {
+            if (line.startsWith('event:')) {
+                name = line.slice(6).trim();
+            } else if (line.startsWith('data:')) {
+                dataLines.push(line.slice(5));
+            }
+        });
+        let data = {};
+        try {
+            data = JSON.parse(dataLines.join('\n'));
+        } catch (err) {
+            data = {};
+        }
+        return { name, data };
     };
 
     toggle.addEventListener('click', () => {
@@ -48,16 +73,56 @@ document.addEventListener('DOMContentLoaded', () => {
         input.value = '';
         input.focus();
 
+        // Yanıt /ai/assistant/stream üzerinden SSE olarak parça parça gelir; akış kurulamazsa tek seferlik uca düşülür
+        const botMsg = addMessage('bot', '...');
         try {
-            const response = await fetch('/ai/assistant', {
+            const response = await fetch('/ai/assistant/stream', {
                 method: 'POST',
-                headers: { 'Content-Type': 'application/json' },
+                headers: { 'Content-Type': 'application/json', 'Accept': 'text/event-stream' },
                 body: JSON.stringify({ message: text })
             });
-            const data = await response.json();
-            addMessage('bot', data.reply || 'Su an yanit veremiyorum.');
+            if (!response.ok || !response.body) {
+                throw new Error('stream yok');
+            }
+
+            const reader = response.body.getReader();
+            const decoder = new TextDecoder();
+            let buffer = '';
+            let reply = '';
+            for (;;) {
+                const { value, done } = await reader.read();
+                if (done) {
+                    break;
+                }
+                buffer += decoder.decode(value, { stream: true });
+                let sep;
+                while ((sep = buffer.indexOf('\n\n')) >= 0) {
+                    const block = buffer.slice(0, sep);
+                    buffer = buffer.slice(sep + 2);
+                    const event = parseSseEvent(block);
+                    if (event.name === 'chunk') {
+                        reply += event.data.text || '';
+                        updateMessage(botMsg, reply);
+                    } else if (event.name === 'error') {
+                        updateMessage(botMsg, reply || event.data.message || 'Su an yanit veremiyorum.');
+                    }
+                }
+            }
+            if (!reply && botMsg.textContent === '...') {
+                updateMessage(botMsg, 'Su an yanit veremiyorum.');
+            }
         } catch (err) {
-            addMessage('bot', 'Su an yanit veremiyorum.');
+            try {
+                const response = await fetch('/ai/assistant', {
+                    method: 'POST',
+                    headers: { 'Content-Type': 'application/json' },
+                    body: JSON.stringify({ message: text })
+                });
+                const data = await response.json();
+                updateMessage(botMsg, data.reply || 'Su an yanit veremiyorum.');
+            } catch (fallbackErr) {
+                updateMessage(botMsg, 'Su an yanit veremiyorum.');
+            }
         }
     });
 });
@@ -1,4 +1,8 @@
 document.addEventListener('DOMContentLoaded', () => {
+    // Aynı kulüp için butona tekrar basılırsa sunucu önbelleği atlanır ve yeni öneri üretilir
+    let lastClubDescName = null;
+    let lastEventClubName = null;
+
     const clubBtn = document.getElementById('clubDescSuggestBtn');
     if (clubBtn) {
         clubBtn.addEventListener('click', async () => {
@@ -21,12 +25,13 @@ document.addEventListener('DOMContentLoaded', () => {
                 const response = await fetch('/ai/club-description', {
                     method: 'POST',
                     headers: { 'Content-Type': 'application/json' },
-                    body: JSON.stringify({ clubName })
+                    body: JSON.stringify({ clubName, regenerate: clubName === lastClubDescName })
                 });
                 const data = await response.json();
                 if (data.description) {
                     descInput.value = data.description;
                 }
+                lastClubDescName = clubName;
             } catch (err) {
                 alert('AI oneri su an calismiyor.');
             } finally {
@@ -55,9 +60,10 @@ document.addEventListener('DOMContentLoaded', () => {
                 const response = await fetch('/ai/event-suggestion', {
                     method: 'POST',
                     headers: { 'Content-Type': 'application/json' },
-                    body: JSON.stringify({ clubName })
+                    body: JSON.stringify({ clubName, regenerate: clubName === lastEventClubName })
                 });
                 const data = await response.json();
+                lastEventClubName = clubName;
                 if (data.title) {
                     titleInput.value = data.title;
                 }
@@ -0,0 +1,12 @@
+package com.example.kulup;
+
+import org.springframework.boot.SpringApplication;
+
+// Uygulamayı test sınıf yoluyla başlatır; sahte Expo/SMTP sunucuları ve benchmark yalnızca burada bulunur.
+// mvn spring-boot:test-run -Dspring-boot.run.profiles=...
+public class TestKulupApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.from(KulupApplication::main).run(args);
+    }
+}
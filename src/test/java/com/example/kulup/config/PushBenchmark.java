@@ -0,0 +1,134 @@
+package com.example.kulup.config;
+
+import com.example.kulup.service.PushFanoutService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+// Büyük kulüp yayınında push hattının hızını ölçer; "expo-stub,push-benchmark" profilleriyle çalıştırılır.
+// Sahte Expo olmadan açılmaz: sahte token'lar gerçek exp.host'a gitmez. Gecikme mesaj başınadır: outbox'a
+// yazılmasından Expo'nun kabul ettiği ana kadar. Eşikler aşılırsa uygulama 1 koduyla çıkar, böylece deploy öncesi yakalanır.
+@Component
+@Profile("push-benchmark & expo-stub")
+public class PushBenchmark implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(PushBenchmark.class);
+
+    private final PushFanoutService pushFanoutService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ConfigurableApplicationContext context;
+    private final int uyeSayisi;
+    private final int tekrar;
+    private final long zamanAsimiSn;
+    private final double minMesajSn;
+    private final long maxP99Ms;
+
+    public PushBenchmark(PushFanoutService pushFanoutService,
+                         JdbcTemplate jdbcTemplate,
+                         ConfigurableApplicationContext context,
+                         @Value("${outbound.hedef.expo.base-url}") String expoBaseUrl,
+                         @Value("${push.benchmark.uye-sayisi:10000}") int uyeSayisi,
+                         @Value("${push.benchmark.tekrar:10}") int tekrar,
+                         @Value("${push.benchmark.zaman-asimi-sn:600}") long zamanAsimiSn,
+                         @Value("${push.benchmark.min-mesaj-sn:0}") double minMesajSn,
+                         @Value("${push.benchmark.max-p99-ms:0}") long maxP99Ms) {
+        if (!expoBaseUrl.contains("/expo-stub")) {
+            throw new IllegalStateException("Push benchmark sahte Expo dışında çalıştırılamaz: " + expoBaseUrl);
+        }
+        this.pushFanoutService = pushFanoutService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.context = context;
+        this.uyeSayisi = uyeSayisi;
+        this.tekrar = tekrar;
+        this.zamanAsimiSn = zamanAsimiSn;
+        this.minMesajSn = minMesajSn;
+        this.maxP99Ms = maxP99Ms;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        List<String> tokens = new ArrayList<>(uyeSayisi);
+        for (int i = 0; i < uyeSayisi; i++) {
+            tokens.add("ExponentPushToken[benchmark-" + i + "]");
+        }
+
+        List<String> isler = new ArrayList<>();
+        long kuyrugaAlmaMax = 0;
+        long baslangic = System.nanoTime();
+        for (int i = 0; i < tekrar; i++) {
+            long t0 = System.nanoTime();
+            isler.add(pushFanoutService.baslat(tokens, "Benchmark", "Benchmark yayını #" + i));
+            kuyrugaAlmaMax = Math.max(kuyrugaAlmaMax, (System.nanoTime() - t0) / 1_000_000);
+        }
+
+        long toplam = (long) uyeSayisi * tekrar;
+        long gonderilen = 0;
+        long basarisiz = 0;
+        long bitis = baslangic + zamanAsimiSn * 1_000_000_000L;
+        while (System.nanoTime() < bitis) {
+            gonderilen = 0;
+            basarisiz = 0;
+            for (String isId : isler) {
+                Map<String, Object> durum = pushFanoutService.durum(isId).orElse(Map.of());
+                gonderilen += ((Number) durum.getOrDefault("gonderilen", 0)).longValue();
+                basarisiz += ((Number) durum.getOrDefault("basarisiz", 0)).longValue();
+            }
+            if (gonderilen + basarisiz >= toplam) {
+                break;
+            }
+            Thread.sleep(200);
+        }
+        double saniye = (System.nanoTime() - baslangic) / 1e9;
+        double mesajSn = (gonderilen + basarisiz) / saniye;
+
+        List<Long> gecikmeler = mesajGecikmeleri(isler);
+        long p99 = yuzdelik(gecikmeler, 0.99);
+
+        logger.info("PUSH BENCHMARK: {} yayın x {} üye, {} gönderildi, {} başarısız, {} sn",
+                tekrar, uyeSayisi, gonderilen, basarisiz, String.format("%.1f", saniye));
+        logger.info("PUSH BENCHMARK: {} mesaj/sn, mesaj gecikmesi p50 {} ms, p99 {} ms ({} örnek); yayın kuyruğa alma max {} ms",
+                String.format("%.0f", mesajSn), yuzdelik(gecikmeler, 0.50), p99, gecikmeler.size(), kuyrugaAlmaMax);
+
+        boolean basarili = gonderilen + basarisiz >= toplam
+                && (minMesajSn <= 0 || mesajSn >= minMesajSn)
+                && (maxP99Ms <= 0 || p99 <= maxP99Ms);
+        if (!basarili) {
+            logger.error("PUSH BENCHMARK eşikleri karşılanmadı (min {} mesaj/sn, max p99 {} ms)", minMesajSn, maxP99Ms);
+        }
+        System.exit(SpringApplication.exit(context, () -> basarili ? 0 : 1));
+    }
+
+    // Gönderilen her mesajın outbox'a yazılmasından Expo'nun kabulüne kadar geçen süre (ms), sıralı
+    private List<Long> mesajGecikmeleri(List<String> isler) {
+        List<Long> gecikmeler = new ArrayList<>();
+        for (String isId : isler) {
+            jdbcTemplate.query("SELECT olusturma_tarihi, gonderim_tarihi FROM bildirim_outbox "
+                    + "WHERE is_id = ? AND durum = 'GONDERILDI'", rs -> {
+                Timestamp olusturma = rs.getTimestamp(1);
+                Timestamp gonderim = rs.getTimestamp(2);
+                gecikmeler.add(gonderim.getTime() - olusturma.getTime());
+            }, isId);
+        }
+        Collections.sort(gecikmeler);
+        return gecikmeler;
+    }
+
+    private static long yuzdelik(List<Long> sirali, double oran) {
+        if (sirali.isEmpty()) {
+            return 0;
+        }
+        return sirali.get(Math.max(0, (int) Math.ceil(sirali.size() * oran) - 1));
+    }
+}
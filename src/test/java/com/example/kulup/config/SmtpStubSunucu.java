@@ -0,0 +1,99 @@
+package com.example.kulup.config;
+
+import com.example.kulup.service.MetrikServisi;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+// SMTP transport'u gerçek sunucu olmadan denemek için gömülü, TLS/AUTH'suz sahte SMTP sunucusu ("smtp-stub" profili).
+// Gelen mailleri saklamaz, sadece mail.stub.alinan ve mail.stub.oturum sayaçlarını artırır.
+@Component
+@Profile("smtp-stub")
+public class SmtpStubSunucu {
+
+    private final MetrikServisi metrikServisi;
+    private final int port;
+    private ServerSocket sunucu;
+
+    public SmtpStubSunucu(MetrikServisi metrikServisi, @Value("${mail.stub.port:2525}") int port) {
+        this.metrikServisi = metrikServisi;
+        this.port = port;
+    }
+
+    @PostConstruct
+    public void baslat() throws IOException {
+        sunucu = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        Thread t = new Thread(this::kabulEt, "smtp-stub");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    @PreDestroy
+    public void kapat() throws IOException {
+        sunucu.close();
+    }
+
+    private void kabulEt() {
+        while (!sunucu.isClosed()) {
+            try {
+                Socket soket = sunucu.accept();
+                Thread t = new Thread(() -> oturum(soket), "smtp-stub-oturum");
+                t.setDaemon(true);
+                t.start();
+            } catch (IOException e) {
+                // sunucu kapatıldı
+            }
+        }
+    }
+
+    private void oturum(Socket soket) {
+        metrikServisi.artir("mail.stub.oturum");
+        try (soket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(soket.getInputStream(), StandardCharsets.UTF_8));
+             OutputStream out = soket.getOutputStream()) {
+            yaz(out, "220 smtp-stub hazir");
+            String satir;
+            while ((satir = in.readLine()) != null) {
+                String komut = satir.length() >= 4 ? satir.substring(0, 4).toUpperCase() : satir.toUpperCase();
+                switch (komut) {
+                    case "EHLO" -> yaz(out, "250-smtp-stub\r\n250 8BITMIME");
+                    case "DATA" -> {
+                        yaz(out, "354 devam");
+                        while ((satir = in.readLine()) != null && !satir.equals(".")) {
+                            // içerik atılır
+                        }
+                        metrikServisi.artir("mail.stub.alinan");
+                        yaz(out, "250 kabul edildi");
+                    }
+                    case "NOOP" -> {
+                        metrikServisi.artir("mail.stub.noop");
+                        yaz(out, "250 ok");
+                    }
+                    case "QUIT" -> {
+                        yaz(out, "221 gule gule");
+                        return;
+                    }
+                    default -> yaz(out, "250 ok");
+                }
+            }
+        } catch (IOException e) {
+            // istemci bağlantıyı kapattı
+        }
+    }
+
+    private void yaz(OutputStream out, String cevap) throws IOException {
+        out.write((cevap + "\r\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+}
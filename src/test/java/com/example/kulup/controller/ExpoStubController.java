@@ -0,0 +1,98 @@
+package com.example.kulup.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+// exp.host yerine geçen sahte Expo push servisi; yük testi ve benchmark için "expo-stub" profiliyle açılır
+@RestController
+@Profile("expo-stub")
+@RequestMapping("/expo-stub/--/api/v2/push")
+public class ExpoStubController {
+
+    private static final int MAX_SAKLANAN_MAKBUZ = 200_000;
+
+    private final long gecikmeMs;
+    private final long gecikmeSapmaMs;
+    private final double hataOrani;
+    private final double kayitsizOrani;
+    private final double makbuzKayitsizOrani;
+
+    // ticket id -> makbuzda dönülecek hata (null = ok)
+    private final Map<String, String> makbuzlar = new ConcurrentHashMap<>();
+
+    public ExpoStubController(@Value("${expo.stub.gecikme-ms:50}") long gecikmeMs,
+                              @Value("${expo.stub.gecikme-sapma-ms:20}") long gecikmeSapmaMs,
+                              @Value("${expo.stub.hata-orani:0.0}") double hataOrani,
+                              @Value("${expo.stub.kayitsiz-orani:0.0}") double kayitsizOrani,
+                              @Value("${expo.stub.makbuz-kayitsiz-orani:0.0}") double makbuzKayitsizOrani) {
+        this.gecikmeMs = gecikmeMs;
+        this.gecikmeSapmaMs = gecikmeSapmaMs;
+        this.hataOrani = hataOrani;
+        this.kayitsizOrani = kayitsizOrani;
+        this.makbuzKayitsizOrani = makbuzKayitsizOrani;
+    }
+
+    @PostMapping("/send")
+    public ResponseEntity<?> send(@RequestBody JsonNode mesajlar) throws InterruptedException {
+        bekle();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < hataOrani) {
+            return ResponseEntity.status(503).body(Map.of("errors", List.of(Map.of("message", "stub 503"))));
+        }
+        if (makbuzlar.size() > MAX_SAKLANAN_MAKBUZ) {
+            makbuzlar.clear();
+        }
+
+        int adet = mesajlar.isArray() ? mesajlar.size() : 1;
+        List<Map<String, Object>> tickets = new ArrayList<>(adet);
+        for (int i = 0; i < adet; i++) {
+            if (random.nextDouble() < kayitsizOrani) {
+                tickets.add(hataTicket("DeviceNotRegistered"));
+                continue;
+            }
+            String id = UUID.randomUUID().toString();
+            makbuzlar.put(id, random.nextDouble() < makbuzKayitsizOrani ? "DeviceNotRegistered" : "");
+            tickets.add(Map.of("status", "ok", "id", id));
+        }
+        return ResponseEntity.ok(Map.of("data", tickets));
+    }
+
+    @PostMapping("/getReceipts")
+    public Map<String, Object> getReceipts(@RequestBody JsonNode istek) throws InterruptedException {
+        bekle();
+        Map<String, Object> data = new LinkedHashMap<>();
+        for (JsonNode idNode : istek.path("ids")) {
+            String hata = makbuzlar.remove(idNode.asText());
+            if (hata == null) {
+                continue;
+            }
+            data.put(idNode.asText(), hata.isEmpty() ? Map.of("status", "ok") : hataTicket(hata));
+        }
+        return Map.of("data", data);
+    }
+
+    private Map<String, Object> hataTicket(String hata) {
+        return Map.of("status", "error", "message", "stub: " + hata, "details", Map.of("error", hata));
+    }
+
+    private void bekle() throws InterruptedException {
+        long sure = gecikmeMs + (gecikmeSapmaMs > 0 ? ThreadLocalRandom.current().nextLong(gecikmeSapmaMs + 1) : 0);
+        if (sure > 0) {
+            Thread.sleep(sure);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.kulup.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AiCircuitBreakerTest {
+
+    private static final long OPEN_MS = 50;
+
+    // Pencere 4, en az 2 çağrı, %50 hata oranında açılır
+    private final AiCircuitBreaker breaker = new AiCircuitBreaker(new MetrikServisi(), 4, 2, 50, OPEN_MS);
+
+    @Test
+    void opensOnFailuresAndClosesAfterSuccessfulProbe() throws InterruptedException {
+        assertTrue(breaker.allowRequest());
+        breaker.recordSuccess();
+        assertTrue(breaker.allowRequest());
+        breaker.recordFailure();
+        assertEquals(AiCircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.allowRequest());
+
+        Thread.sleep(OPEN_MS + 10);
+        assertEquals(AiCircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertTrue(breaker.allowRequest());
+        // Yarı açıkta aynı anda tek deneme
+        assertFalse(breaker.allowRequest());
+
+        breaker.recordSuccess();
+        assertEquals(AiCircuitBreaker.State.CLOSED, breaker.state());
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    void failedProbeReopens() throws InterruptedException {
+        open();
+        assertTrue(breaker.allowRequest());
+        breaker.recordFailure();
+        assertEquals(AiCircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.allowRequest());
+    }
+
+    @Test
+    void lostProbeIsReplacedAfterOpenMs() throws InterruptedException {
+        open();
+        // Sonucu hiç bildirilmeyen deneme
+        assertTrue(breaker.allowRequest());
+        assertFalse(breaker.allowRequest());
+
+        Thread.sleep(OPEN_MS + 10);
+        assertTrue(breaker.allowRequest());
+        breaker.recordSuccess();
+        assertEquals(AiCircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    private void open() throws InterruptedException {
+        breaker.recordFailure();
+        breaker.recordFailure();
+        assertEquals(AiCircuitBreaker.State.OPEN, breaker.state());
+        Thread.sleep(OPEN_MS + 10);
+        assertEquals(AiCircuitBreaker.State.HALF_OPEN, breaker.state());
+    }
+}
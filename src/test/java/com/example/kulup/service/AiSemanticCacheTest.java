@@ -0,0 +1,55 @@
+package com.example.kulup.service;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// ai.semantic.esik bu örneklerle seçildi: aynı sorunun yeniden yazılışları eşleşmeli, başka kulüp ya da konu eşleşmemeli
+class AiSemanticCacheTest {
+
+    private static final double THRESHOLD = 0.78;
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "nasıl üye olurum | kulübe nasıl katılırım",
+            "Kulübe nasıl üye olabilirim? | kulübe nasıl üye olurum",
+            "Satranç kulübüne nasıl katılırım | satranç kulübüne nasıl üye olurum",
+            "Aidatımı nasıl öderim | aidat nasıl ödenir?",
+            "Etkinliklere nasıl katılırım | etkinliğe nasıl katılabilirim",
+            "şifremi unuttum ne yapmalıyım | Şifremi unuttum, ne yapabilirim?",
+            "görevlerimi nereden görürüm | Görevlerimi nerede görebilirim?",
+            "kulüp nasıl kurulur | nasıl kulüp kurabilirim",
+            "Tiyatro kulübünün provaları hangi gün yapılıyor | tiyatro kulübü provaları hangi gün yapılır",
+            "Etkinliğe katılmamak zorunlu mu? | etkinliklere katılmamak zorunlu mu",
+    })
+    void reusesAnswerForRephrasedQuestion(String asked, String rephrased) {
+        AiSemanticCache cache = new AiSemanticCache(new MetrikServisi(), 500, 60, THRESHOLD);
+        cache.put(asked, "yanit");
+        assertEquals("yanit", cache.get(rephrased));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "Satranç kulübünün etkinlikleri ne zaman | Müzik kulübünün etkinlikleri ne zaman",
+            "Satranç kulübüne nasıl katılırım | Müzik kulübüne nasıl katılırım",
+            "Tiyatro kulübünün başkanı kim | Satranç kulübünün başkanı kim",
+            "etkinliğe nasıl katılırım | kulübe nasıl katılırım",
+            "aidat ne kadar | Satranç kulübünün aidatı ne kadar",
+            "aidat nasıl öderim | görev nasıl tamamlarım",
+            "kulüp nasıl kurulur | kulüpten nasıl ayrılırım",
+            "Tiyatro kulübünün provaları hangi gün yapılıyor | Satranç kulübünün provaları hangi gün yapılıyor",
+            "Aidat ödenir mi? | Aidat ödenmez mi?",
+            "Etkinliğe katılmak zorunlu mu? | Etkinliğe katılmamak zorunlu mu?",
+            "Başkan üyeyi silebilir mi? | Başkan üyeyi silemez mi?",
+            "Aidat zorunlu mu? | Aidat zorunlu değil mi?",
+            "Toplantıya katılıyor musun? | Toplantıya katılmıyor musun?",
+            "Aidatı ödedim mi? | Aidatı ödemedim mi?",
+    })
+    void missesDifferentQuestion(String asked, String other) {
+        AiSemanticCache cache = new AiSemanticCache(new MetrikServisi(), 500, 60, THRESHOLD);
+        cache.put(asked, "yanit");
+        assertNull(cache.get(other));
+    }
+}
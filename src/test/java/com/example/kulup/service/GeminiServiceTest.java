@@ -0,0 +1,102 @@
+package com.example.kulup.service;
+
+import com.example.kulup.config.OutboundHttpProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// streamText'in devre kesiciye bildirdiği sonuç: istemcinin gitmesi yarı açıktaki deneme hakkını tüketmemeli
+class GeminiServiceTest {
+
+    private static final String CHUNK = "data: {\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"merhaba \"}]}}]}\n\n";
+
+    private HttpServer server;
+    private AiCircuitBreaker breaker;
+    private GeminiService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+
+        OutboundHttpProperties.Hedef gemini = new OutboundHttpProperties.Hedef();
+        gemini.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        gemini.setHttpVersion("HTTP_1_1");
+        OutboundHttpProperties properties = new OutboundHttpProperties();
+        properties.getHedef().put("gemini", gemini);
+
+        MetrikServisi metrikServisi = new MetrikServisi();
+        breaker = new AiCircuitBreaker(metrikServisi, 4, 1, 50, 50);
+        service = new GeminiService(new ObjectMapper(), new OutboundHttpClient(properties, metrikServisi), breaker,
+                metrikServisi, "test", "v1beta", "gemini-1.5-flash-latest", 30, 60, 900_000);
+
+        // Model çözülür (akış yalnızca çözülmüş modelle yapılır), ardından devre açılıp yarı açığa geçer
+        assertTrue(service.generateText("merhaba").isSuccess());
+        breaker.recordFailure();
+        assertEquals(AiCircuitBreaker.State.OPEN, breaker.state());
+        Thread.sleep(60);
+        assertEquals(AiCircuitBreaker.State.HALF_OPEN, breaker.state());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void listenerFailureReleasesHalfOpenProbe() {
+        // Emitter bittikten sonra SseEmitter.send IllegalStateException fırlatır
+        assertThrows(IllegalStateException.class, () -> service.streamText("soru", new GeminiService.StreamHandle(),
+                chunk -> {
+                    throw new IllegalStateException("ResponseBodyEmitter has already completed");
+                }));
+
+        assertEquals(AiCircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    void cancelledStreamIsNotCountedAsFailure() {
+        GeminiService.StreamHandle handle = new GeminiService.StreamHandle();
+        // Sunucu ilk parçadan sonra susar; iptal gövdeyi kapatır ve bekleyen okuma hemen biter
+        assertThrows(IOException.class, () -> service.streamText("yavas", handle, chunk -> handle.cancel()));
+
+        assertEquals(AiCircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertTrue(breaker.allowRequest());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        String path = exchange.getRequestURI().getPath();
+        try (OutputStream out = exchange.getResponseBody()) {
+            if (path.endsWith(":generateContent")) {
+                byte[] body = "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"merhaba\"}]}}]}"
+                        .getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                out.write(body);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            out.write(CHUNK.getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            Thread.sleep(2_000);
+            out.write(CHUNK.getBytes(StandardCharsets.UTF_8));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}